@@ -0,0 +1,91 @@
+import java.sql.*;
+import java.util.*;
+
+/**
+ * 여러 회원을 한 번에 조회하는 일괄 조회 API.
+ * 회원 ID 목록을 InList 버킷 크기의 IN 절로 나누어 한 커넥션에서 실행하고, 결과를 회원별로 묶어 돌려준다.
+ */
+public class BatchQueries {
+
+    private interface RowCollector {
+        void collect(ResultSet rs) throws SQLException;
+    }
+
+    private final ConnectionPool pool;
+
+    public BatchQueries(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    public Map<Integer, List<PagedQueries.ProductRow>> findProductsByUserIds(List<Integer> userIds) throws SQLException {
+        Map<Integer, List<PagedQueries.ProductRow>> result = emptyGroups(userIds);
+        run("SELECT user_id, product_id, title, product_name, price, status, created_at " +
+                        "FROM Product WHERE user_id IN (%s) ORDER BY user_id, created_at DESC",
+                result.keySet(),
+                rs -> result.get(rs.getInt("user_id")).add(new PagedQueries.ProductRow(
+                        rs.getLong("product_id"),
+                        rs.getString("title"),
+                        rs.getString("product_name"),
+                        rs.getInt("price"),
+                        rs.getString("status"),
+                        rs.getTimestamp("created_at"))));
+        return result;
+    }
+
+    public Map<Integer, List<PagedQueries.WishlistRow>> findWishlistByUserIds(List<Integer> userIds) throws SQLException {
+        Map<Integer, List<PagedQueries.WishlistRow>> result = emptyGroups(userIds);
+        run("SELECT w.user_id, p.product_id, p.title, p.price, w.created_at AS wishlist_added_at " +
+                        "FROM Wishlist w JOIN Product p ON w.product_id = p.product_id " +
+                        "WHERE w.user_id IN (%s) ORDER BY w.user_id, w.created_at DESC",
+                result.keySet(),
+                rs -> result.get(rs.getInt("user_id")).add(new PagedQueries.WishlistRow(
+                        rs.getLong("product_id"),
+                        rs.getString("title"),
+                        rs.getInt("price"),
+                        rs.getTimestamp("wishlist_added_at"))));
+        return result;
+    }
+
+    public Map<Integer, List<PagedQueries.ProductRow>> findActiveProductsByUserIds(List<Integer> userIds) throws SQLException {
+        Map<Integer, List<PagedQueries.ProductRow>> result = emptyGroups(userIds);
+        run("SELECT user_id, product_id, title, price, status, created_at " +
+                        "FROM Product WHERE user_id IN (%s) AND status = '판매중' ORDER BY user_id, created_at DESC",
+                result.keySet(),
+                rs -> result.get(rs.getInt("user_id")).add(new PagedQueries.ProductRow(
+                        rs.getLong("product_id"),
+                        rs.getString("title"),
+                        null,
+                        rs.getInt("price"),
+                        rs.getString("status"),
+                        rs.getTimestamp("created_at"))));
+        return result;
+    }
+
+    // 입력 순서를 유지하고 중복 ID를 제거하며, 결과가 없는 회원도 빈 목록으로 남긴다.
+    private static <T> Map<Integer, List<T>> emptyGroups(List<Integer> userIds) {
+        Map<Integer, List<T>> groups = new LinkedHashMap<>();
+        for (Integer userId : userIds) {
+            groups.computeIfAbsent(userId, id -> new ArrayList<>());
+        }
+        return groups;
+    }
+
+    private void run(String queryTemplate, Collection<Integer> userIds, RowCollector collector) throws SQLException {
+        if (userIds.isEmpty()) return;
+
+        List<Integer> ids = new ArrayList<>(userIds);
+        try (ConnectionPool.PooledConnection conn = pool.borrow()) {
+            for (int from = 0; from < ids.size(); from += InList.maxSize()) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + InList.maxSize(), ids.size()));
+
+                PreparedStatement pstmt = conn.prepare(String.format(queryTemplate, InList.placeholders(chunk.size())));
+                InList.bind(pstmt, 1, chunk);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        collector.collect(rs);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package LogITBackend.LogIT.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChurnBucketDTO {
+    private LocalDate start;        // 구간 시작일 (WEEK는 월요일, MONTH는 1일)
+    private long commits;
+    private long measuredCommits;   // stats가 저장돼 있어 줄 수에 반영된 커밋 수
+    private long additions;
+    private long deletions;
+}
@@ -0,0 +1,30 @@
+package LogITBackend.LogIT.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChurnResponseDTO {
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    private String owner;
+    private String repo;
+    private String branch;          // 저장소 전체 집계이면 null
+    private LocalDate from;
+    private LocalDate to;           // 포함
+    private Granularity granularity;
+    private long commits;
+    private long measuredCommits;
+    private long additions;
+    private long deletions;
+    private List<ChurnBucketDTO> buckets;
+}
@@ -0,0 +1,24 @@
+package LogITBackend.LogIT.repository;
+
+import LogITBackend.LogIT.domain.Commit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * 커밋이 현재 사용자가 등록한 owner/repo에 속하는지 확인한다.
+ * 커밋 SHA만으로 조회하면 다른 사용자의 커밋도 읽을 수 있으므로, 커밋을 읽거나 동기화하기 전에 거친다.
+ */
+public interface CommitAccessRepository extends Repository<Commit, String> {
+
+    // FileSummaryRepository.findPatchRef와 같은 commit → branch → repo → owner → user 경로로 확인한다.
+    @Query("select count(c) > 0 from Commit c " +
+            "where c.id = :commitId " +
+            "and c.branch.repo.repoName = :repoName " +
+            "and c.branch.repo.owner.ownerName = :ownerName " +
+            "and c.branch.repo.owner.user.id = :userId")
+    boolean existsForUser(@Param("userId") Long userId,
+                          @Param("ownerName") String ownerName,
+                          @Param("repoName") String repoName,
+                          @Param("commitId") String commitId);
+}
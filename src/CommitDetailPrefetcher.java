@@ -0,0 +1,108 @@
+package LogITBackend.LogIT.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커밋 목록 동기화로 새로 저장된 커밋의 세부 정보(stats, 파일)를 미리 받아 둔다.
+ * 처음 여는 커밋도 GitHub 왕복 없이 DB에서 바로 응답할 수 있게 하려는 것으로, github.prefetch.enabled=true일 때만 동작한다.
+ * 요청은 parallelism개 스레드에서 백그라운드 우선순위로 보내므로 사용자 요청 몫의 rate limit은 남겨 둔다.
+ */
+@Slf4j
+@Component
+public class CommitDetailPrefetcher {
+
+    /** syncCommits가 새 커밋을 저장했을 때 발행하는 이벤트. shas는 최신 커밋부터 정렬돼 있다. */
+    public record CommitsSaved(Long userId, String owner, String repo, List<String> shas) {
+    }
+
+    private final GithubSynchronizer synchronizer;
+    private final GithubRateLimiter rateLimiter;
+    private final boolean enabled;
+    private final int maxPerSync;
+    private final ThreadPoolExecutor executor;
+
+    // 대기 중이거나 실행 중인 커밋 SHA
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final LongAdder fetched = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public CommitDetailPrefetcher(GithubSynchronizer synchronizer,
+                                  GithubRateLimiter rateLimiter,
+                                  @Value("${github.prefetch.enabled:false}") boolean enabled,
+                                  @Value("${github.prefetch.parallelism:2}") int parallelism,
+                                  @Value("${github.prefetch.queue-capacity:500}") int queueCapacity,
+                                  @Value("${github.prefetch.max-per-sync:100}") int maxPerSync) {
+        this.synchronizer = synchronizer;
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        this.maxPerSync = maxPerSync;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "github-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 동기화가 새 커밋 저장을 커밋한 뒤에 발행하므로 트랜잭션 없이 바로 실행되며, 미리 받는 쪽이 아직 보이지 않는 커밋을 찾는 일은 없다.
+     * 트랜잭션 안에서 발행되면 커밋된 뒤에 큐에 넣는다.
+     * 처음 동기화하는 저장소는 커밋이 수천 개일 수 있으므로 최신 max-per-sync개만 받는다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitsSaved(CommitsSaved event) {
+        if (!enabled) {
+            return;
+        }
+        for (String sha : event.shas().subList(0, Math.min(event.shas().size(), maxPerSync))) {
+            if (!pending.add(sha)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> prefetch(event, sha));
+            } catch (RejectedExecutionException e) {
+                // 못 받은 커밋은 처음 열 때 기존처럼 받아 온다.
+                pending.remove(sha);
+                rejected.increment();
+            }
+        }
+    }
+
+    private void prefetch(CommitsSaved event, String sha) {
+        try {
+            boolean fetchedNow = rateLimiter.inBackground(
+                    () -> synchronizer.syncCommitDetails(event.userId(), event.owner(), event.repo(), sha));
+            // false면 그 사이 사용자가 먼저 열어 받아 왔거나 다른 호출이 받는 중인 커밋이다.
+            (fetchedNow ? fetched : skipped).increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("커밋 세부 정보 미리 받기 실패: {}/{}@{}", event.owner(), event.repo(), sha, e);
+        } finally {
+            pending.remove(sha);
+        }
+    }
+
+    public PrefetchStats getStats() {
+        return new PrefetchStats(executor.getQueue().size(), executor.getActiveCount(),
+                fetched.sum(), skipped.sum(), rejected.sum(), failed.sum());
+    }
+
+    public record PrefetchStats(int queued, int running, long fetched, long skipped, long rejected, long failed) {
+    }
+}
@@ -0,0 +1,36 @@
+package LogITBackend.LogIT.controller;
+
+import LogITBackend.LogIT.DTO.CommitSummaryResponseDTO;
+import LogITBackend.LogIT.DTO.FilePatchResponseDTO;
+import LogITBackend.LogIT.apiPayload.ApiResponse;
+import LogITBackend.LogIT.service.CommitFileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/github")
+public class CommitFileController {
+
+    private final CommitFileService commitFileService;
+
+    // patch 본문 없이 파일 목록과 추가/삭제 줄 수만 조회
+    @GetMapping("/{owner}/{repo}/commits/{commitId}/summary")
+    public ApiResponse<CommitSummaryResponseDTO> getCommitSummary(@PathVariable String owner,
+                                                                  @PathVariable String repo,
+                                                                  @PathVariable String commitId) {
+        return ApiResponse.onSuccess(commitFileService.getCommitSummary(owner, repo, commitId));
+    }
+
+    // 파일 하나의 patch를 줄(LINES) 또는 바이트(BYTES) 구간으로 나눠 조회
+    @GetMapping("/{owner}/{repo}/commits/{commitId}/files/{fileId}/patch")
+    public ApiResponse<FilePatchResponseDTO> getFilePatch(@PathVariable String owner,
+                                                          @PathVariable String repo,
+                                                          @PathVariable String commitId,
+                                                          @PathVariable Long fileId,
+                                                          @RequestParam(defaultValue = "LINES") FilePatchResponseDTO.Unit unit,
+                                                          @RequestParam(defaultValue = "0") long offset,
+                                                          @RequestParam(required = false) Integer limit) {
+        return ApiResponse.onSuccess(commitFileService.getFilePatch(owner, repo, commitId, fileId, unit, offset, limit));
+    }
+}
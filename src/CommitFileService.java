@@ -0,0 +1,14 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.CommitSummaryResponseDTO;
+import LogITBackend.LogIT.DTO.FilePatchResponseDTO;
+
+public interface CommitFileService {
+
+    /** patch 본문 없이 파일명과 추가/삭제 줄 수만 담은 커밋 상세 */
+    CommitSummaryResponseDTO getCommitSummary(String owner, String repo, String commitId);
+
+    /** 파일 하나의 patch 중 [offset, offset + limit) 구간만 돌려준다. 단위는 줄 또는 UTF-8 바이트다. */
+    FilePatchResponseDTO getFilePatch(String owner, String repo, String commitId, Long fileId,
+                                      FilePatchResponseDTO.Unit unit, long offset, Integer limit);
+}
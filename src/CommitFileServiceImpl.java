@@ -0,0 +1,173 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.CommitResponseDTO;
+import LogITBackend.LogIT.DTO.CommitSummaryResponseDTO;
+import LogITBackend.LogIT.DTO.FilePatchResponseDTO;
+import LogITBackend.LogIT.DTO.FileSummaryDTO;
+import LogITBackend.LogIT.apiPayload.code.status.ErrorStatus;
+import LogITBackend.LogIT.apiPayload.exception.GeneralException;
+import LogITBackend.LogIT.config.security.SecurityUtil;
+import LogITBackend.LogIT.domain.Commit;
+import LogITBackend.LogIT.domain.PatchBlob;
+import LogITBackend.LogIT.repository.CommitAccessRepository;
+import LogITBackend.LogIT.repository.CommitRepository;
+import LogITBackend.LogIT.repository.FileSummaryRepository;
+import LogITBackend.LogIT.repository.PatchBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 커밋 상세를 목록(요약)과 파일별 patch로 나눠 제공한다.
+ * 요약은 patch 컬럼을 읽지 않고, patch는 요청한 파일 하나만 풀어서 필요한 구간만 잘라 보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CommitFileServiceImpl implements CommitFileService {
+
+    private static final int DEFAULT_LINE_LIMIT = 500;
+    private static final int MAX_LINE_LIMIT = 5_000;
+    private static final int DEFAULT_BYTE_LIMIT = 64 * 1024;
+    private static final int MAX_BYTE_LIMIT = 1024 * 1024;
+
+    private final CommitRepository commitRepository;
+    private final CommitAccessRepository commitAccessRepository;
+    private final FileSummaryRepository fileSummaryRepository;
+    private final PatchBlobRepository patchBlobRepository;
+    private final PatchStore patchStore;
+    private final GithubSynchronizer githubSynchronizer;
+
+    // 동기화가 자체 트랜잭션에서 커밋된 뒤 조회해야 하므로 트랜잭션을 열지 않는다.
+    @Override
+    public CommitSummaryResponseDTO getCommitSummary(String owner, String repo, String commitId) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        // 다른 사용자의 커밋이면 동기화도 시작하지 않고, 존재 여부도 드러내지 않도록 COMMIT_NOT_FOUND로 응답한다.
+        if (!commitAccessRepository.existsForUser(userId, owner, repo, commitId)) {
+            throw new GeneralException(ErrorStatus.COMMIT_NOT_FOUND);
+        }
+
+        // stats가 null이면 GitHub에서 정보 요청
+        githubSynchronizer.syncCommitDetails(userId, owner, repo, commitId);
+        Commit commit = commitRepository.findById(commitId)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.COMMIT_NOT_FOUND));
+
+        return CommitSummaryResponseDTO.builder()
+                .commit(CommitResponseDTO.fromEntity(commit))
+                .files(fileSummaryRepository.findByCommitIdOrderByIdAsc(commitId).stream()
+                        .map(file -> FileSummaryDTO.builder()
+                                .fileId(file.getId())
+                                .filename(file.getFilename())
+                                .additions(file.getAdditions())
+                                .deletions(file.getDeletions())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FilePatchResponseDTO getFilePatch(String owner, String repo, String commitId, Long fileId,
+                                             FilePatchResponseDTO.Unit unit, long offset, Integer limit) {
+        if (offset < 0 || (limit != null && limit <= 0)) {
+            throw new GeneralException(ErrorStatus._BAD_REQUEST);
+        }
+        Long userId = SecurityUtil.getCurrentUserId();
+        // 다른 사용자의 저장소 파일이면 존재 여부도 드러내지 않도록 같은 FILE_NOT_FOUND로 응답한다.
+        FileSummaryRepository.PatchRef file = fileSummaryRepository.findPatchRef(userId, owner, repo, commitId, fileId)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.FILE_NOT_FOUND));
+
+        String patch = loadPatch(file);
+        FilePatchResponseDTO.FilePatchResponseDTOBuilder response = FilePatchResponseDTO.builder()
+                .fileId(file.getId())
+                .filename(file.getFilename())
+                .unit(unit)
+                .offset(offset);
+        if (patch == null) {
+            // 바이너리 파일이나 너무 큰 diff는 GitHub가 patch를 주지 않는다.
+            return response.nextOffset(offset).build();
+        }
+
+        return unit == FilePatchResponseDTO.Unit.BYTES
+                ? sliceBytes(response, patch, offset, limit == null ? DEFAULT_BYTE_LIMIT : Math.min(limit, MAX_BYTE_LIMIT))
+                : sliceLines(response, patch, offset, limit == null ? DEFAULT_LINE_LIMIT : Math.min(limit, MAX_LINE_LIMIT));
+    }
+
+    private String loadPatch(FileSummaryRepository.PatchRef file) {
+        if (file.getPatchHash() == null) {
+            return fileSummaryRepository.findLegacyPatchById(file.getId()).orElse(null);
+        }
+        return patchBlobRepository.findById(file.getPatchHash())
+                .map(patchStore::decompress)
+                .orElse(null);
+    }
+
+    private static FilePatchResponseDTO sliceLines(FilePatchResponseDTO.FilePatchResponseDTOBuilder response,
+                                                   String patch, long offset, int limit) {
+        // 줄 경계만 세고 잘라 낼 때 한 번만 substring한다.
+        long line = 0;
+        int start = offset == 0 ? 0 : -1;
+        int end = -1;
+        for (int i = 0; i < patch.length(); i++) {
+            if (patch.charAt(i) != '\n') {
+                continue;
+            }
+            line++;
+            if (line == offset) {
+                start = i + 1;
+            }
+            if (line == offset + limit) {
+                end = i + 1;
+            }
+        }
+        // 마지막 줄이 줄바꿈으로 끝나지 않으면 그 줄도 센다.
+        long total = patch.isEmpty() ? 0 : (patch.endsWith("\n") ? line : line + 1);
+
+        if (start < 0 || offset >= total) {
+            return response.nextOffset(total).total(total).patch("").build();
+        }
+        long next = Math.min(offset + limit, total);
+        return response
+                .nextOffset(next)
+                .total(total)
+                .hasMore(next < total)
+                .patch(patch.substring(start, end < 0 ? patch.length() : end))
+                .build();
+    }
+
+    private static FilePatchResponseDTO sliceBytes(FilePatchResponseDTO.FilePatchResponseDTOBuilder response,
+                                                   String patch, long offset, int limit) {
+        byte[] bytes = patch.getBytes(StandardCharsets.UTF_8);
+        long total = bytes.length;
+        if (offset >= total) {
+            return response.nextOffset(total).total(total).patch("").build();
+        }
+
+        // 멀티바이트 문자가 잘리지 않도록 구간 양 끝을 문자 시작 위치로 맞춘다.
+        int start = alignToCharStart(bytes, (int) offset);
+        int end = alignToCharStart(bytes, (int) Math.min(total, offset + limit));
+        if (end <= start) {
+            // limit이 문자 하나보다 작으면 문자 하나는 보낸다.
+            end = alignToCharStart(bytes, Math.min(bytes.length, start + 4));
+            if (end <= start) {
+                end = bytes.length;
+            }
+        }
+        return response
+                .offset(start)
+                .nextOffset(end)
+                .total(total)
+                .hasMore(end < total)
+                .patch(new String(bytes, start, end - start, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    // UTF-8 연속 바이트(10xxxxxx)를 건너뛰어 문자 시작 위치로 당긴다.
+    private static int alignToCharStart(byte[] bytes, int index) {
+        while (index > 0 && index < bytes.length && (bytes[index] & 0xC0) == 0x80) {
+            index--;
+        }
+        return index;
+    }
+}
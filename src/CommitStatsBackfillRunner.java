@@ -0,0 +1,32 @@
+package LogITBackend.LogIT.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * commit-stats.backfill-on-startup=true이면 시작할 때 stats 문자열만 있는 기존 커밋의
+ * additions / deletions / total_changes 컬럼을 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "commit-stats.backfill-on-startup", havingValue = "true")
+public class CommitStatsBackfillRunner implements ApplicationRunner {
+
+    private final CommitStatsService commitStatsService;
+
+    @Value("${commit-stats.backfill-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.currentTimeMillis();
+        long filled = commitStatsService.backfillStatsColumns(batchSize);
+        log.info("커밋 stats 컬럼 {}건 채움 ({} ms)", filled, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,39 @@
+package LogITBackend.LogIT.controller;
+
+import LogITBackend.LogIT.DTO.ChurnResponseDTO;
+import LogITBackend.LogIT.apiPayload.ApiResponse;
+import LogITBackend.LogIT.service.CommitStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/github/{owner}/{repo}")
+public class CommitStatsController {
+
+    private final CommitStatsService commitStatsService;
+
+    // 브랜치의 기간별 추가/삭제 줄 수 (from, to 생략 시 최근 30일)
+    @GetMapping("/branches/{branch}/churn")
+    public ApiResponse<ChurnResponseDTO> getBranchChurn(@PathVariable String owner,
+                                                        @PathVariable String repo,
+                                                        @PathVariable String branch,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(defaultValue = "DAY") ChurnResponseDTO.Granularity granularity) {
+        return ApiResponse.onSuccess(commitStatsService.getBranchChurn(owner, repo, branch, from, to, granularity));
+    }
+
+    // 저장소 전체(모든 브랜치)의 기간별 추가/삭제 줄 수
+    @GetMapping("/churn")
+    public ApiResponse<ChurnResponseDTO> getRepoChurn(@PathVariable String owner,
+                                                      @PathVariable String repo,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @RequestParam(defaultValue = "DAY") ChurnResponseDTO.Granularity granularity) {
+        return ApiResponse.onSuccess(commitStatsService.getRepoChurn(owner, repo, from, to, granularity));
+    }
+}
@@ -0,0 +1,61 @@
+package LogITBackend.LogIT.repository;
+
+import LogITBackend.LogIT.domain.Commit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 커밋 추가/삭제 줄 수를 DB에서 바로 집계한다. Commit 엔티티는 읽지 않는다.
+ */
+public interface CommitStatsRepository extends Repository<Commit, String> {
+
+    interface DailyChurn {
+        LocalDate getDay();
+        long getCommits();
+        // stats를 아직 받지 않은 커밋은 commits에만 포함된다.
+        long getMeasuredCommits();
+        long getAdditions();
+        long getDeletions();
+    }
+
+    interface LegacyStats {
+        String getId();
+        String getStats();
+    }
+
+    @Query("select cast(c.date as LocalDate) as day, count(c) as commits, count(c.additions) as measuredCommits, " +
+            "coalesce(sum(c.additions), 0) as additions, coalesce(sum(c.deletions), 0) as deletions " +
+            "from Commit c where c.branch.id = :branchId and c.date >= :from and c.date < :to " +
+            "group by cast(c.date as LocalDate) order by cast(c.date as LocalDate)")
+    List<DailyChurn> findDailyChurnByBranch(@Param("branchId") Long branchId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    @Query("select cast(c.date as LocalDate) as day, count(c) as commits, count(c.additions) as measuredCommits, " +
+            "coalesce(sum(c.additions), 0) as additions, coalesce(sum(c.deletions), 0) as deletions " +
+            "from Commit c where c.branch.repo.id = :repoId and c.date >= :from and c.date < :to " +
+            "group by cast(c.date as LocalDate) order by cast(c.date as LocalDate)")
+    List<DailyChurn> findDailyChurnByRepo(@Param("repoId") Long repoId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
+    // 숫자 컬럼이 생기기 전에 stats 문자열만 저장된 커밋
+    @Query("select c.id as id, c.stats as stats from Commit c " +
+            "where c.id > :afterId and c.stats is not null and c.additions is null order by c.id")
+    List<LegacyStats> findLegacyStats(@Param("afterId") String afterId, Pageable pageable);
+
+    @Modifying
+    @Query("update Commit c set c.additions = :additions, c.deletions = :deletions, c.totalChanges = :total " +
+            "where c.id = :id")
+    int updateStats(@Param("id") String id,
+                    @Param("additions") int additions,
+                    @Param("deletions") int deletions,
+                    @Param("total") int total);
+}
@@ -0,0 +1,23 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.ChurnResponseDTO;
+
+import java.time.LocalDate;
+
+public interface CommitStatsService {
+
+    /** 브랜치의 [from, to] 기간 추가/삭제 줄 수를 granularity 단위로 나눠 집계한다. */
+    ChurnResponseDTO getBranchChurn(String owner, String repo, String branch,
+                                    LocalDate from, LocalDate to, ChurnResponseDTO.Granularity granularity);
+
+    /** 저장소의 모든 브랜치를 합친 집계 */
+    ChurnResponseDTO getRepoChurn(String owner, String repo,
+                                  LocalDate from, LocalDate to, ChurnResponseDTO.Granularity granularity);
+
+    /**
+     * stats 문자열만 있는 기존 커밋의 숫자 컬럼을 batchSize개씩 채운다.
+     *
+     * @return 채운 커밋 수
+     */
+    long backfillStatsColumns(int batchSize);
+}
@@ -0,0 +1,179 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.ChurnBucketDTO;
+import LogITBackend.LogIT.DTO.ChurnResponseDTO;
+import LogITBackend.LogIT.apiPayload.code.status.ErrorStatus;
+import LogITBackend.LogIT.apiPayload.exception.GeneralException;
+import LogITBackend.LogIT.config.security.SecurityUtil;
+import LogITBackend.LogIT.domain.Branch;
+import LogITBackend.LogIT.domain.Owner;
+import LogITBackend.LogIT.domain.Repo;
+import LogITBackend.LogIT.repository.BranchRepository;
+import LogITBackend.LogIT.repository.CommitStatsRepository;
+import LogITBackend.LogIT.repository.OwnerRepository;
+import LogITBackend.LogIT.repository.RepoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 커밋 추가/삭제 줄 수 집계. 일별 합계는 DB에서 GROUP BY로 구하고, 주·월 단위는 일별 행을 합쳐 만든다.
+ * 기간은 최대 MAX_WINDOW_DAYS일이라 일별 행 수도 그만큼으로 제한된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CommitStatsServiceImpl implements CommitStatsService {
+
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+    private static final int MAX_WINDOW_DAYS = 366;
+    // GithubSynchronizer가 저장하는 stats 문자열 형식
+    private static final Pattern STATS_PATTERN =
+            Pattern.compile("(\\d+) additions, (\\d+) deletions \\(total: (\\d+)\\)");
+
+    private final OwnerRepository ownerRepository;
+    private final RepoRepository repoRepository;
+    private final BranchRepository branchRepository;
+    private final CommitStatsRepository commitStatsRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChurnResponseDTO getBranchChurn(String ownerName, String repoName, String branchName,
+                                           LocalDate from, LocalDate to, ChurnResponseDTO.Granularity granularity) {
+        Repo repo = findRepo(ownerName, repoName);
+        Branch branch = branchRepository.findByRepoIdAndName(repo.getId(), branchName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.BRANCH_NOT_FOUND));
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        validateWindow(start, end);
+
+        List<CommitStatsRepository.DailyChurn> days = commitStatsRepository.findDailyChurnByBranch(
+                branch.getId(), start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+        return toResponse(ownerName, repoName, branchName, start, end, granularity, days);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChurnResponseDTO getRepoChurn(String ownerName, String repoName,
+                                         LocalDate from, LocalDate to, ChurnResponseDTO.Granularity granularity) {
+        Repo repo = findRepo(ownerName, repoName);
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        validateWindow(start, end);
+
+        List<CommitStatsRepository.DailyChurn> days = commitStatsRepository.findDailyChurnByRepo(
+                repo.getId(), start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+        return toResponse(ownerName, repoName, null, start, end, granularity, days);
+    }
+
+    @Override
+    public long backfillStatsColumns(int batchSize) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long filled = 0;
+        String lastId = "";
+        while (true) {
+            List<CommitStatsRepository.LegacyStats> rows =
+                    commitStatsRepository.findLegacyStats(lastId, Pageable.ofSize(batchSize));
+            if (rows.isEmpty()) {
+                return filled;
+            }
+
+            // 배치마다 바로 반영해 중간에 멈춰도 다음 실행이 남은 커밋부터 이어 간다.
+            filled += transactionTemplate.execute(status -> {
+                int updated = 0;
+                for (CommitStatsRepository.LegacyStats row : rows) {
+                    Matcher matcher = STATS_PATTERN.matcher(row.getStats());
+                    // 형식이 다른 값은 건너뛴다. 숫자 컬럼이 비어 있으므로 집계에서는 stats 없는 커밋으로 센다.
+                    if (matcher.find()) {
+                        updated += commitStatsRepository.updateStats(row.getId(),
+                                Integer.parseInt(matcher.group(1)),
+                                Integer.parseInt(matcher.group(2)),
+                                Integer.parseInt(matcher.group(3)));
+                    }
+                }
+                return updated;
+            });
+            lastId = rows.get(rows.size() - 1).getId();
+        }
+    }
+
+    private Repo findRepo(String ownerName, String repoName) {
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        Owner owner = ownerRepository.findByUserIdAndOwnerName(userId, ownerName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.OWNER_NOT_FOUND));
+
+        return repoRepository.findByOwnerIdAndRepoName(owner.getId(), repoName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.REPO_NOT_FOUND));
+    }
+
+    private static void validateWindow(LocalDate start, LocalDate end) {
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_WINDOW_DAYS) {
+            throw new GeneralException(ErrorStatus._BAD_REQUEST);
+        }
+    }
+
+    private static ChurnResponseDTO toResponse(String owner, String repo, String branch,
+                                               LocalDate from, LocalDate to,
+                                               ChurnResponseDTO.Granularity granularity,
+                                               List<CommitStatsRepository.DailyChurn> days) {
+        // 일별 행은 날짜 순으로 오므로 구간 시작일 순서도 유지된다.
+        Map<LocalDate, long[]> buckets = new LinkedHashMap<>();
+        long[] total = new long[4];
+        for (CommitStatsRepository.DailyChurn day : days) {
+            long[] bucket = buckets.computeIfAbsent(bucketStart(day.getDay(), granularity), d -> new long[4]);
+            long[] values = {day.getCommits(), day.getMeasuredCommits(), day.getAdditions(), day.getDeletions()};
+            for (int i = 0; i < values.length; i++) {
+                bucket[i] += values[i];
+                total[i] += values[i];
+            }
+        }
+
+        List<ChurnBucketDTO> bucketList = new ArrayList<>(buckets.size());
+        buckets.forEach((start, values) -> bucketList.add(ChurnBucketDTO.builder()
+                .start(start)
+                .commits(values[0])
+                .measuredCommits(values[1])
+                .additions(values[2])
+                .deletions(values[3])
+                .build()));
+
+        return ChurnResponseDTO.builder()
+                .owner(owner)
+                .repo(repo)
+                .branch(branch)
+                .from(from)
+                .to(to)
+                .granularity(granularity)
+                .commits(total[0])
+                .measuredCommits(total[1])
+                .additions(total[2])
+                .deletions(total[3])
+                .buckets(bucketList)
+                .build();
+    }
+
+    private static LocalDate bucketStart(LocalDate day, ChurnResponseDTO.Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+}
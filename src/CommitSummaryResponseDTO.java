@@ -0,0 +1,18 @@
+package LogITBackend.LogIT.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// patch 본문 없이 파일 목록만 담은 커밋 상세
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommitSummaryResponseDTO {
+    private CommitResponseDTO commit;
+    private List<FileSummaryDTO> files;
+}
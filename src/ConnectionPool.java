@@ -0,0 +1,363 @@
+import java.sql.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 콘솔 전용의 고정 크기 JDBC 커넥션 풀.
+ * 대여 시 오래 쉰 커넥션은 isValid()로 점검하고, 백그라운드 스레드가 유휴 커넥션을 정리한다.
+ * 커넥션마다 PreparedStatement 캐시를 두어 같은 SQL은 다시 파싱하지 않는다.
+ * 읽기 전용 풀은 커넥션 생성 시 한 번만 read-only·READ COMMITTED·autocommit으로 설정해
+ * 조회마다 트랜잭션 시작/종료 왕복이 생기지 않게 한다.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final long validateAfterMillis;
+    private final int statementCacheSize;
+    private final boolean readOnly;
+
+    // 최근에 반납된 커넥션을 먼저 꺼내도록 LIFO로 사용
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+
+    private int total;
+    private int active;
+    private boolean closed;
+
+    private long waitCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private long createdCount;
+    private long evictedCount;
+
+    public ConnectionPool(String url, String user, String password, int maxSize) {
+        this(url, user, password, maxSize, false);
+    }
+
+    public ConnectionPool(String url, String user, String password, int maxSize, boolean readOnly) {
+        this(url, user, password, maxSize, 5_000, 60_000, 30_000, 32, readOnly);
+    }
+
+    public ConnectionPool(String url, String user, String password, int maxSize,
+                          long maxWaitMillis, long idleTimeoutMillis, long validateAfterMillis,
+                          int statementCacheSize, boolean readOnly) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validateAfterMillis = validateAfterMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.readOnly = readOnly;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, idleTimeoutMillis / 2);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public PooledConnection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        // 대기 통계는 커넥션이 없어 실제로 기다린 대여만 센다.
+        boolean blocked = false;
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+
+            synchronized (this) {
+                while (candidate == null && !create) {
+                    if (closed) {
+                        throw new SQLException("커넥션 풀이 종료되었습니다.");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate == null) {
+                        if (total < maxSize) {
+                            total++;
+                            create = true;
+                        } else {
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0) {
+                                recordWait(start);
+                                throw new SQLException("커넥션 대기 시간 초과 (" + maxWaitMillis + "ms)");
+                            }
+                            blocked = true;
+                            try {
+                                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new SQLException("커넥션 대기 중 인터럽트 발생", e);
+                            }
+                        }
+                    }
+                }
+                active++;
+                if (blocked) {
+                    recordWait(start);
+                }
+            }
+
+            if (create) {
+                try {
+                    Connection raw = DriverManager.getConnection(url, user, password);
+                    if (readOnly) {
+                        raw.setReadOnly(true);
+                        raw.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                        raw.setAutoCommit(true);
+                    }
+                    synchronized (this) {
+                        createdCount++;
+                    }
+                    return new PooledConnection(this, raw, statementCacheSize);
+                } catch (SQLException e) {
+                    synchronized (this) {
+                        active--;
+                        total--;
+                        notifyAll();
+                    }
+                    throw e;
+                }
+            }
+
+            // 오래 쉬었던 커넥션은 서버에서 끊겼을 수 있으므로 사용 전에 점검
+            if (System.currentTimeMillis() - candidate.lastUsed < validateAfterMillis
+                    || candidate.isValid(2)) {
+                return candidate;
+            }
+            discard(candidate);
+        }
+    }
+
+    void release(PooledConnection pc) {
+        boolean healthy;
+        try {
+            healthy = !pc.raw.isClosed();
+            if (healthy && !pc.raw.getAutoCommit()) {
+                // 열린 트랜잭션이 다음 대여자에게 넘어가지 않도록 정리
+                pc.raw.rollback();
+                pc.raw.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            healthy = false;
+        }
+
+        if (!healthy) {
+            discard(pc);
+            return;
+        }
+
+        pc.lastUsed = System.currentTimeMillis();
+        synchronized (this) {
+            active--;
+            if (closed) {
+                total--;
+                pc.closeQuietly();
+            } else {
+                idle.addFirst(pc);
+            }
+            notifyAll();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        pc.closeQuietly();
+        synchronized (this) {
+            active--;
+            total--;
+            evictedCount++;
+            notifyAll();
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> expired = new ArrayList<>();
+        synchronized (this) {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastUsed >= idleTimeoutMillis) {
+                    it.remove();
+                    total--;
+                    evictedCount++;
+                    expired.add(pc);
+                }
+            }
+            if (!expired.isEmpty()) {
+                notifyAll();
+            }
+        }
+        // 닫을 때 서버 왕복이 생기므로 잠금을 놓은 뒤에 닫아 대여·반납이 기다리지 않게 한다.
+        for (PooledConnection pc : expired) {
+            pc.closeQuietly();
+        }
+    }
+
+    private void recordWait(long start) {
+        long waited = System.nanoTime() - start;
+        waitCount++;
+        totalWaitNanos += waited;
+        maxWaitNanos = Math.max(maxWaitNanos, waited);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(readOnly, active, idle.size(), total, maxSize, waitCount,
+                totalWaitNanos, maxWaitNanos, createdCount, evictedCount);
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        synchronized (this) {
+            closed = true;
+            for (PooledConnection pc : idle) {
+                pc.closeQuietly();
+            }
+            total -= idle.size();
+            idle.clear();
+            notifyAll();
+        }
+    }
+
+    public static class Stats {
+        public final boolean readOnly;
+        public final int active;
+        public final int idle;
+        public final int total;
+        public final int maxSize;
+        public final long waitCount;
+        public final long totalWaitNanos;
+        public final long maxWaitNanos;
+        public final long created;
+        public final long evicted;
+
+        Stats(boolean readOnly, int active, int idle, int total, int maxSize, long waitCount,
+              long totalWaitNanos, long maxWaitNanos, long created, long evicted) {
+            this.readOnly = readOnly;
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.maxSize = maxSize;
+            this.waitCount = waitCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.created = created;
+            this.evicted = evicted;
+        }
+
+        public double averageWaitMillis() {
+            return waitCount == 0 ? 0 : totalWaitNanos / 1_000_000.0 / waitCount;
+        }
+
+        public double maxWaitMillis() {
+            return maxWaitNanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * 풀에서 대여한 커넥션. close()하면 실제로 닫지 않고 풀에 반납한다.
+     * prepare()로 얻은 PreparedStatement는 커넥션에 캐시되므로 호출 측에서 닫으면 안 된다.
+     */
+    public static class PooledConnection implements AutoCloseable {
+        private final ConnectionPool pool;
+        private final Connection raw;
+        private final Map<String, PreparedStatement> statements;
+        private long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(ConnectionPool pool, Connection raw, int cacheSize) {
+            this.pool = pool;
+            this.raw = raw;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > cacheSize) {
+                        closeStatement(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement pstmt = statements.get(sql);
+            if (pstmt == null || pstmt.isClosed()) {
+                pstmt = raw.prepareStatement(sql);
+                statements.put(sql, pstmt);
+            } else {
+                pstmt.clearParameters();
+            }
+            return pstmt;
+        }
+
+        public Connection connection() {
+            return raw;
+        }
+
+        /** 읽기 전용 풀의 커넥션이면 autocommit 상태이므로 트랜잭션 제어가 필요 없다. */
+        public boolean isReadOnly() {
+            return pool.readOnly;
+        }
+
+        public void setAutoCommit(boolean autoCommit) throws SQLException {
+            raw.setAutoCommit(autoCommit);
+        }
+
+        public void commit() throws SQLException {
+            raw.commit();
+        }
+
+        public void rollback() throws SQLException {
+            raw.rollback();
+        }
+
+        boolean isValid(int timeoutSeconds) {
+            try {
+                return raw.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closeQuietly() {
+            for (PreparedStatement pstmt : statements.values()) {
+                closeStatement(pstmt);
+            }
+            statements.clear();
+            try {
+                raw.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        private static void closeStatement(PreparedStatement pstmt) {
+            try {
+                pstmt.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        @Override
+        public void close() {
+            pool.release(this);
+        }
+    }
+}
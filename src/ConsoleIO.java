@@ -0,0 +1,65 @@
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.Scanner;
+
+/**
+ * 콘솔 입출력 설정. 표 렌더러와 메뉴·안내 문구가 같은 버퍼, 같은 문자셋으로 나가도록 System.out/System.err를 한 번만 바꿔 둔다.
+ * 표준 출력은 BUFFER_SIZE 버퍼에 모아 쓰고, 입력을 읽기 직전에 비워 프롬프트가 먼저 보이게 한다.
+ * CSV/TSV 출력 중에는 표준 출력에 데이터 행만 남도록 메뉴·프롬프트·안내·소요 시간을 ui()로 표준 오류에 보낸다.
+ */
+public final class ConsoleIO {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static volatile boolean dataOnlyStdout;
+
+    private ConsoleIO() {
+    }
+
+    /** System.out/System.err를 교체하고 같은 문자셋으로 읽는 입력용 Scanner를 돌려준다. */
+    public static Scanner install() {
+        Charset charset = consoleCharset();
+        System.setOut(new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE), false, charset));
+        System.setErr(new PrintStream(new FileOutputStream(FileDescriptor.err), true, charset));
+
+        InputStream in = new FilterInputStream(new FileInputStream(FileDescriptor.in)) {
+            @Override
+            public int read() throws IOException {
+                System.out.flush();
+                return super.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                System.out.flush();
+                return super.read(buffer, offset, length);
+            }
+        };
+        return new Scanner(in, charset);
+    }
+
+    /** true이면 이후 ui() 출력은 표준 오류로 간다. */
+    public static void setDataOnlyStdout(boolean dataOnly) {
+        dataOnlyStdout = dataOnly;
+    }
+
+    /** 데이터가 아닌 출력(메뉴, 프롬프트, 안내 문구, 소요 시간)을 보낼 스트림 */
+    public static PrintStream ui() {
+        if (!dataOnlyStdout) {
+            return System.out;
+        }
+        // 터미널에서 볼 때 앞서 출력한 데이터 행보다 안내 문구가 먼저 나오지 않게 한다.
+        System.out.flush();
+        return System.err;
+    }
+
+    // 콘솔 문자셋. JDK 19부터는 stdout.encoding, 그 전에는 sun.stdout.encoding에 들어 있고 파이프로 넘기면 둘 다 없다.
+    private static Charset consoleCharset() {
+        String name = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        if (name != null && Charset.isSupported(name)) {
+            return Charset.forName(name);
+        }
+        return Charset.defaultCharset();
+    }
+}
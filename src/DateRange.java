@@ -0,0 +1,102 @@
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * 종료일을 포함하는 날짜 구간. 쿼리에는 [시작일 00:00, 종료일+1일 00:00) 반열린 구간의 Timestamp로 바인딩하여
+ * created_at 인덱스를 그대로 타고 종료일 당일의 데이터도 모두 포함되게 한다.
+ */
+public final class DateRange {
+
+    private final LocalDate start;
+    private final LocalDate end;
+
+    private DateRange(LocalDate start, LocalDate end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @throws IllegalArgumentException 날짜 형식이 올바르지 않거나 시작일이 종료일보다 늦은 경우
+     */
+    public static DateRange parse(String startDate, String endDate) {
+        LocalDate start = parseDate(startDate);
+        LocalDate end = parseDate(endDate);
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다. (예: 2024-01-01)");
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+        }
+        return new DateRange(start, end);
+    }
+
+    /**
+     * yyyy-MM-dd 형식을 엄격하게 검사해 파싱한다. 포매터나 예외 객체를 만들지 않으며 상태가 없어 스레드에 안전하다.
+     *
+     * @return 올바르지 않으면 null
+     */
+    public static LocalDate parseDate(String text) {
+        if (text == null) return null;
+        String s = text.trim();
+        if (s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') return null;
+
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    public static boolean isValidDate(String text) {
+        return parseDate(text) != null;
+    }
+
+    /** index부터 두 개의 파라미터(시작 포함, 끝 제외)를 바인딩하고 다음 인덱스를 돌려준다. */
+    public int bind(PreparedStatement pstmt, int index) throws SQLException {
+        pstmt.setTimestamp(index, Timestamp.valueOf(start.atStartOfDay()));
+        pstmt.setTimestamp(index + 1, Timestamp.valueOf(end.plusDays(1).atStartOfDay()));
+        return index + 2;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return start + " ~ " + end;
+    }
+
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package LogITBackend.LogIT.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilePatchResponseDTO {
+
+    public enum Unit { LINES, BYTES }
+
+    private Long fileId;
+    private String filename;
+    private Unit unit;
+    private long offset;      // 0부터 시작하는 줄 번호 또는 UTF-8 바이트 위치
+    private long nextOffset;  // 다음 구간을 요청할 때 쓸 offset
+    private long total;       // 전체 줄 수 또는 바이트 수
+    private boolean hasMore;
+    private String patch;
+}
@@ -0,0 +1,17 @@
+package LogITBackend.LogIT.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileSummaryDTO {
+    private Long fileId;
+    private String filename;
+    private Long additions;
+    private Long deletions;
+}
@@ -0,0 +1,47 @@
+package LogITBackend.LogIT.repository;
+
+import LogITBackend.LogIT.domain.File;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * File의 일부 컬럼만 읽는 조회 전용 리포지토리.
+ * 인터페이스 프로젝션이라 patch 컬럼은 SELECT에 포함되지 않는다.
+ */
+public interface FileSummaryRepository extends Repository<File, Long> {
+
+    interface FileSummary {
+        Long getId();
+        String getFilename();
+        Long getAdditions();
+        Long getDeletions();
+    }
+
+    interface PatchRef {
+        Long getId();
+        String getFilename();
+        String getPatchHash();
+    }
+
+    List<FileSummary> findByCommitIdOrderByIdAsc(String commitId);
+
+    // 현재 사용자가 등록한 owner/repo의 커밋에 속한 파일만 찾는다. fileId는 순번이라 다른 사용자의 파일을 막아야 한다.
+    @Query("select f.id as id, f.filename as filename, f.patchHash as patchHash from File f " +
+            "where f.id = :fileId and f.commit.id = :commitId " +
+            "and f.commit.branch.repo.repoName = :repoName " +
+            "and f.commit.branch.repo.owner.ownerName = :ownerName " +
+            "and f.commit.branch.repo.owner.user.id = :userId")
+    Optional<PatchRef> findPatchRef(@Param("userId") Long userId,
+                                    @Param("ownerName") String ownerName,
+                                    @Param("repoName") String repoName,
+                                    @Param("commitId") String commitId,
+                                    @Param("fileId") Long fileId);
+
+    // patch_blob으로 옮기기 전의 행만 본문을 직접 읽는다.
+    @Query("select f.patch from File f where f.id = :id")
+    Optional<String> findLegacyPatchById(@Param("id") Long id);
+}
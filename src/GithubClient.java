@@ -0,0 +1,395 @@
+package LogITBackend.LogIT.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * GitHub API 호출을 한곳에서 처리하는 공용 클라이언트.
+ * 요청마다 RestTemplate을 새로 만들지 않고, HTTP/2와 keep-alive 커넥션 풀을 쓰는 JDK HttpClient 하나를 공유한다.
+ * 토큰별 요청 헤더는 한 번만 만들어 재사용하고, 엔드포인트별 지연 시간을 집계한다.
+ * 목록 API는 Link 헤더를 따라 모든 페이지를 가져오며, 마지막 페이지 번호를 알면 남은 페이지를 병렬로 받는다.
+ * 모든 요청은 GithubRateLimiter를 거쳐 나가고, 한도 초과(403/429) 응답은 백오프 후 재시도한다.
+ */
+@Component
+public class GithubClient {
+
+    private static final int MAX_CACHED_TOKENS = 1024;
+    private static final Pattern LINK_PATTERN = Pattern.compile("<([^>]+)>;\\s*rel=\"([^\"]+)\"");
+
+    /** 한 페이지를 처리한다. false를 돌려주면 이후 페이지는 받지 않는다. */
+    @FunctionalInterface
+    public interface PageHandler<T> {
+        boolean handle(T page);
+    }
+
+    private final RestTemplate restTemplate;
+    private final Map<String, HttpEntity<Void>> entitiesByToken = Collections.synchronizedMap(
+            new LinkedHashMap<String, HttpEntity<Void>>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, HttpEntity<Void>> eldest) {
+                    return size() > MAX_CACHED_TOKENS;
+                }
+            });
+    private final Map<String, EndpointLatency> latencies = new ConcurrentHashMap<>();
+    // 백그라운드 요청이 rate limit 대기로 스레드를 다 잡아도 사용자 요청의 페이지는 기다리지 않도록 우선순위마다 따로 둔다.
+    private final Map<GithubRateLimiter.Priority, ExecutorService> pageExecutors =
+            new EnumMap<>(GithubRateLimiter.Priority.class);
+    private final int pageParallelism;
+    private final GithubRateLimiter rateLimiter;
+    private final int maxRetries;
+
+    public GithubClient(GithubRateLimiter rateLimiter,
+                        @Value("${github.client.connect-timeout-ms:3000}") long connectTimeoutMs,
+                        @Value("${github.client.read-timeout-ms:10000}") long readTimeoutMs,
+                        @Value("${github.client.page-parallelism:4}") int pageParallelism,
+                        @Value("${github.client.max-retries:3}") int maxRetries) {
+        this.rateLimiter = rateLimiter;
+        this.maxRetries = maxRetries;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.restTemplate.getInterceptors().add(gzipInterceptor());
+
+        this.pageParallelism = Math.max(1, pageParallelism);
+        for (GithubRateLimiter.Priority priority : GithubRateLimiter.Priority.values()) {
+            String threadName = "github-page-fetch-" + priority.name().toLowerCase();
+            pageExecutors.put(priority, Executors.newFixedThreadPool(this.pageParallelism, runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pageExecutors.values().forEach(ExecutorService::shutdownNow);
+    }
+
+    public <T> ResponseEntity<T> get(String endpoint, String url, String token, Class<T> responseType) {
+        return execute(endpoint, token, rateLimiter.currentPriority(),
+                () -> restTemplate.exchange(url, HttpMethod.GET, entityFor(token), responseType));
+    }
+
+    public <T> ResponseEntity<T> get(String endpoint, String url, String token, ParameterizedTypeReference<T> responseType) {
+        return get(endpoint, url, token, responseType, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * conditionalHeaders(If-None-Match 등)를 더해 요청한다.
+     * 304 Not Modified는 오류가 아니므로 예외 없이 본문이 null인 응답으로 돌아온다.
+     */
+    public <T> ResponseEntity<T> get(String endpoint, String url, String token,
+                                     ParameterizedTypeReference<T> responseType, HttpHeaders conditionalHeaders) {
+        return execute(endpoint, token, rateLimiter.currentPriority(),
+                () -> restTemplate.exchange(url, HttpMethod.GET, entityFor(token, conditionalHeaders), responseType));
+    }
+
+    public <T> void getAllPages(String endpoint, String firstUrl, String token,
+                                ParameterizedTypeReference<T> pageType, PageHandler<T> handler) {
+        getAllPages(endpoint, firstUrl, token, pageType, HttpHeaders.EMPTY, handler);
+    }
+
+    /**
+     * firstUrl부터 모든 페이지를 받아 순서대로 handler에 넘긴다.
+     * 첫 페이지의 Link 헤더에 rel="last"가 있으면 나머지 페이지를 최대 page-parallelism개씩 동시에 요청하고,
+     * 없으면 rel="next"를 차례로 따라간다. 동시에 메모리에 머무는 페이지도 병렬 수만큼으로 제한된다.
+     * handler는 호출한 스레드에서 실행되므로 트랜잭션 안에서 바로 저장해도 된다.
+     * conditionalHeaders는 첫 페이지 요청에만 붙이며, 첫 페이지가 304이면 handler를 부르지 않고 끝낸다.
+     *
+     * @return 첫 페이지 응답의 상태와 헤더 (검증값 저장용)
+     */
+    public <T> FirstPage getAllPages(String endpoint, String firstUrl, String token,
+                                     ParameterizedTypeReference<T> pageType, HttpHeaders conditionalHeaders,
+                                     PageHandler<T> handler) {
+        return getAllPages(endpoint, firstUrl, token, pageType, conditionalHeaders, true, handler);
+    }
+
+    /**
+     * prefetch가 false이면 rel="last"가 있어도 rel="next"를 한 페이지씩 따라간다.
+     * handler가 대개 첫 페이지에서 false를 돌려주는 목록(아는 head에서 멈추는 커밋 목록 등)은
+     * 미리 요청한 뒤쪽 페이지를 버리게 되므로 이쪽을 쓴다.
+     */
+    public <T> FirstPage getAllPages(String endpoint, String firstUrl, String token,
+                                     ParameterizedTypeReference<T> pageType, HttpHeaders conditionalHeaders,
+                                     boolean prefetch, PageHandler<T> handler) {
+        GithubRateLimiter.Priority priority = rateLimiter.currentPriority();
+        ResponseEntity<T> first = get(endpoint, firstUrl, token, pageType, conditionalHeaders);
+        FirstPage result = new FirstPage(first.getStatusCode(), first.getHeaders());
+        if (result.notModified() || first.getBody() == null || !handler.handle(first.getBody())) {
+            return result;
+        }
+
+        Map<String, String> links = parseLinks(first.getHeaders());
+        String last = links.get("last");
+        if (prefetch && last != null) {
+            int lastPage = pageNumber(last);
+            if (lastPage > 1) {
+                fetchRemainingPages(endpoint, last, lastPage, token, priority, pageType, handler);
+                return result;
+            }
+        }
+
+        String next = links.get("next");
+        while (next != null) {
+            ResponseEntity<T> page = get(endpoint, URI.create(next), token, priority, pageType);
+            if (page.getBody() == null || !handler.handle(page.getBody())) {
+                return result;
+            }
+            next = parseLinks(page.getHeaders()).get("next");
+        }
+        return result;
+    }
+
+    private <T> void fetchRemainingPages(String endpoint, String lastUrl, int lastPage, String token,
+                                         GithubRateLimiter.Priority priority,
+                                         ParameterizedTypeReference<T> pageType, PageHandler<T> handler) {
+        ExecutorService pageExecutor = pageExecutors.get(priority);
+        Deque<Future<ResponseEntity<T>>> inFlight = new ArrayDeque<>();
+        int nextPage = 2;
+        try {
+            while (nextPage <= lastPage || !inFlight.isEmpty()) {
+                while (nextPage <= lastPage && inFlight.size() < pageParallelism) {
+                    URI uri = UriComponentsBuilder.fromUriString(lastUrl)
+                            .replaceQueryParam("page", nextPage++)
+                            .build(true)
+                            .toUri();
+                    inFlight.addLast(pageExecutor.submit(() -> get(endpoint, uri, token, priority, pageType)));
+                }
+
+                T body = await(inFlight.removeFirst()).getBody();
+                if (body == null || !handler.handle(body)) {
+                    return;
+                }
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /** 작업 스레드에 맡긴 GitHub 요청을 기다린다. 요청에서 난 RuntimeException은 그대로 다시 던진다. */
+    static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GitHub 요청이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 페이지 작업 스레드에서는 호출한 쪽의 우선순위를 알 수 없으므로 명시적으로 넘겨받는다.
+    private <T> ResponseEntity<T> get(String endpoint, URI uri, String token, GithubRateLimiter.Priority priority,
+                                      ParameterizedTypeReference<T> responseType) {
+        return execute(endpoint, token, priority,
+                () -> restTemplate.exchange(uri, HttpMethod.GET, entityFor(token), responseType));
+    }
+
+    private <T> ResponseEntity<T> execute(String endpoint, String token, GithubRateLimiter.Priority priority,
+                                          Supplier<ResponseEntity<T>> call) {
+        for (int attempt = 0; ; attempt++) {
+            rateLimiter.acquire(token, priority);
+            // 지연 시간은 시도마다 응답을 받은 시점까지만 잰다. 백오프 대기는 넣지 않는다.
+            long started = System.nanoTime();
+            ResponseEntity<T> response;
+            try {
+                response = call.get();
+            } catch (HttpClientErrorException e) {
+                record(endpoint, started, false);
+                HttpHeaders headers = e.getResponseHeaders() != null ? e.getResponseHeaders() : HttpHeaders.EMPTY;
+                rateLimiter.update(token, headers);
+                if (attempt >= maxRetries
+                        || !GithubRateLimiter.isRateLimited(e.getStatusCode(), headers, e.getResponseBodyAsString())) {
+                    throw e;
+                }
+                rateLimiter.backOff(token, headers, attempt);
+                continue;
+            } catch (RuntimeException e) {
+                record(endpoint, started, false);
+                throw e;
+            }
+            record(endpoint, started, true);
+            rateLimiter.update(token, response.getHeaders());
+            return response;
+        }
+    }
+
+    static Map<String, String> parseLinks(HttpHeaders headers) {
+        Map<String, String> links = new HashMap<>();
+        List<String> values = headers.get(HttpHeaders.LINK);
+        if (values == null) {
+            return links;
+        }
+        for (String value : values) {
+            Matcher matcher = LINK_PATTERN.matcher(value);
+            while (matcher.find()) {
+                links.put(matcher.group(2), matcher.group(1));
+            }
+        }
+        return links;
+    }
+
+    private static int pageNumber(String url) {
+        String page = UriComponentsBuilder.fromUriString(url).build().getQueryParams().getFirst("page");
+        try {
+            return page == null ? 1 : Integer.parseInt(page);
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /** 엔드포인트별 호출 수, 실패 수, 평균/최대 지연 시간(ms) */
+    public Map<String, LatencySnapshot> getLatencyMetrics() {
+        Map<String, LatencySnapshot> snapshot = new TreeMap<>();
+        latencies.forEach((endpoint, latency) -> snapshot.put(endpoint, latency.snapshot()));
+        return snapshot;
+    }
+
+    private HttpEntity<Void> entityFor(String token, HttpHeaders conditionalHeaders) {
+        HttpEntity<Void> entity = entityFor(token);
+        if (conditionalHeaders.isEmpty()) {
+            return entity;
+        }
+        // 토큰별 엔티티는 읽기 전용으로 공유되므로 조건부 요청일 때만 복사본을 만든다.
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(entity.getHeaders());
+        headers.putAll(conditionalHeaders);
+        return new HttpEntity<>(headers);
+    }
+
+    private HttpEntity<Void> entityFor(String token) {
+        return entitiesByToken.computeIfAbsent(token, t -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(t);
+            headers.set(HttpHeaders.ACCEPT, "application/vnd.github+json");
+            headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            headers.set("X-GitHub-Api-Version", "2022-11-28");
+            return new HttpEntity<>(HttpHeaders.readOnlyHttpHeaders(headers));
+        });
+    }
+
+    private void record(String endpoint, long started, boolean success) {
+        latencies.computeIfAbsent(endpoint, e -> new EndpointLatency())
+                .record(System.nanoTime() - started, success);
+    }
+
+    // JDK HttpClient는 응답 압축을 자동으로 풀지 않으므로 gzip 본문을 직접 감싼다.
+    private static ClientHttpRequestInterceptor gzipInterceptor() {
+        return (request, body, execution) -> {
+            ClientHttpResponse response = execution.execute(request, body);
+            List<String> encoding = response.getHeaders().get(HttpHeaders.CONTENT_ENCODING);
+            if (encoding == null || encoding.stream().noneMatch("gzip"::equalsIgnoreCase)) {
+                return response;
+            }
+            return new GzipClientHttpResponse(response);
+        };
+    }
+
+    private static class GzipClientHttpResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GzipClientHttpResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(delegate.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new GZIPInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private static class EndpointLatency {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long elapsedNanos, boolean success) {
+            calls.increment();
+            if (!success) {
+                failures.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        LatencySnapshot snapshot() {
+            long count = calls.sum();
+            double average = count == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / count;
+            return new LatencySnapshot(count, failures.sum(), average, maxNanos.get() / 1_000_000.0);
+        }
+    }
+
+    public record FirstPage(HttpStatusCode status, HttpHeaders headers) {
+        public boolean notModified() {
+            return status.value() == HttpStatus.NOT_MODIFIED.value();
+        }
+    }
+
+    public record LatencySnapshot(long calls, long failures, double averageMillis, double maxMillis) {
+    }
+}
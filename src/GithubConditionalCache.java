@@ -0,0 +1,84 @@
+package LogITBackend.LogIT.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GitHub 목록 응답의 ETag / Last-Modified 값을 (사용자, URL)별로 Redis에 보관한다.
+ * 다음 요청에 If-None-Match / If-Modified-Since로 실어 보내면, 바뀐 것이 없을 때 GitHub가 본문 없이 304를 돌려주고
+ * 이 응답은 rate limit에도 포함되지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GithubConditionalCache {
+
+    private static final String KEY_PREFIX = "github:conditional:";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final Duration TTL = Duration.ofDays(30);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /** 저장된 값이 없으면 빈 헤더를 돌려준다. */
+    public HttpHeaders conditionalHeaders(Long userId, String url) {
+        Map<Object, Object> validators = redisTemplate.opsForHash().entries(key(userId, url));
+        HttpHeaders headers = new HttpHeaders();
+        Object etag = validators.get(ETAG);
+        if (etag != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, etag.toString());
+        }
+        Object lastModified = validators.get(LAST_MODIFIED);
+        if (lastModified != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified.toString());
+        }
+        return headers;
+    }
+
+    /**
+     * 응답 헤더의 검증값을 저장한다. 트랜잭션 안에서 호출되면 커밋된 뒤에 저장하여,
+     * 롤백된 응답의 ETag 때문에 다음 요청이 304를 받고 데이터가 영영 저장되지 않는 일을 막는다.
+     */
+    public void store(Long userId, String url, HttpHeaders responseHeaders) {
+        Map<String, String> validators = new HashMap<>();
+        if (responseHeaders.getETag() != null) {
+            validators.put(ETAG, responseHeaders.getETag());
+        }
+        String lastModified = responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            validators.put(LAST_MODIFIED, lastModified);
+        }
+        if (validators.isEmpty()) {
+            return;
+        }
+
+        Runnable write = () -> {
+            String key = key(userId, url);
+            redisTemplate.delete(key);
+            redisTemplate.opsForHash().putAll(key, validators);
+            redisTemplate.expire(key, TTL);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write.run();
+                }
+            });
+        } else {
+            write.run();
+        }
+    }
+
+    private static String key(Long userId, String url) {
+        return KEY_PREFIX + userId + ":" + url;
+    }
+}
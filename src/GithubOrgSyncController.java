@@ -0,0 +1,24 @@
+package LogITBackend.LogIT.controller;
+
+import LogITBackend.LogIT.DTO.GithubRepoResponse;
+import LogITBackend.LogIT.apiPayload.ApiResponse;
+import LogITBackend.LogIT.service.GithubOrgSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/github/orgs")
+public class GithubOrgSyncController {
+
+    private final GithubOrgSyncService githubOrgSyncService;
+
+    @PostMapping("/sync")
+    public ApiResponse<List<GithubRepoResponse>> syncAllOrgsRepos() {
+        return ApiResponse.onSuccess(githubOrgSyncService.syncAllOrgsRepos());
+    }
+}
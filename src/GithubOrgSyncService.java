@@ -0,0 +1,11 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.GithubRepoResponse;
+
+import java.util.List;
+
+public interface GithubOrgSyncService {
+
+    /** 내가 속한 모든 조직과 그 저장소를 한 번에 동기화하고 조직별 저장소 목록을 돌려준다. */
+    List<GithubRepoResponse> syncAllOrgsRepos();
+}
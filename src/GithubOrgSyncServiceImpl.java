@@ -0,0 +1,168 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.GithubPayload;
+import LogITBackend.LogIT.DTO.GithubRepoResponse;
+import LogITBackend.LogIT.DTO.RepositoryResponseDTO;
+import LogITBackend.LogIT.apiPayload.code.status.ErrorStatus;
+import LogITBackend.LogIT.apiPayload.exception.GeneralException;
+import LogITBackend.LogIT.config.security.SecurityUtil;
+import LogITBackend.LogIT.domain.Owner;
+import LogITBackend.LogIT.domain.Repo;
+import LogITBackend.LogIT.domain.Users;
+import LogITBackend.LogIT.repository.OwnerRepository;
+import LogITBackend.LogIT.repository.RepoRepository;
+import LogITBackend.LogIT.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * 조직 목록과 각 조직의 저장소를 한 요청에서 동기화한다.
+ * 조직별 저장소 목록은 org-parallelism개까지 동시에 받고, 다 받은 뒤에 DB 작업만 짧은 트랜잭션 하나에서 몰아서 한다.
+ * GitHub를 기다리는 동안에는 트랜잭션을 열지 않아 요청마다 DB 커넥션을 잡고 있지 않는다.
+ */
+@Service
+public class GithubOrgSyncServiceImpl implements GithubOrgSyncService {
+
+    private record RemoteRepo(String name, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    private final OwnerRepository ownerRepository;
+    private final RepoRepository repoRepository;
+    private final UserRepository userRepository;
+    private final GithubClient githubClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService orgExecutor;
+
+    public GithubOrgSyncServiceImpl(OwnerRepository ownerRepository,
+                                    RepoRepository repoRepository,
+                                    UserRepository userRepository,
+                                    GithubClient githubClient,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${github.sync.org-parallelism:4}") int orgParallelism) {
+        this.ownerRepository = ownerRepository;
+        this.repoRepository = repoRepository;
+        this.userRepository = userRepository;
+        this.githubClient = githubClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orgExecutor = Executors.newFixedThreadPool(Math.max(1, orgParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "github-org-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        orgExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<GithubRepoResponse> syncAllOrgsRepos() {
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        Users user = userRepository.findById(userId)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.USER_NOT_FOUND));
+
+        String githubAccesstoken = user.getGithubAccesstoken();
+        if (githubAccesstoken == null) {
+            throw new GeneralException(ErrorStatus.GITHUB_NOT_ACCESS);
+        }
+
+        List<String> orgNames = new ArrayList<>();
+        githubClient.getAllPages("user-orgs", "https://api.github.com/user/orgs?per_page=100", githubAccesstoken,
+                new ParameterizedTypeReference<List<GithubPayload.OrgItem>>() {}, body -> {
+                    body.forEach(org -> orgNames.add(org.login()));
+                    return true;
+                });
+
+        // 조직별 저장소 목록은 작업 스레드에서 동시에 받고, 모두 받은 뒤에만 저장한다.
+        Map<String, Future<List<RemoteRepo>>> fetches = new LinkedHashMap<>();
+        Map<String, List<RemoteRepo>> remoteRepos = new LinkedHashMap<>();
+        try {
+            for (String orgName : orgNames) {
+                fetches.put(orgName, orgExecutor.submit(() -> fetchOrgRepos(orgName, githubAccesstoken)));
+            }
+            for (Map.Entry<String, Future<List<RemoteRepo>>> fetch : fetches.entrySet()) {
+                remoteRepos.put(fetch.getKey(), GithubClient.await(fetch.getValue()));
+            }
+        } finally {
+            fetches.values().forEach(future -> future.cancel(true));
+        }
+
+        return transactionTemplate.execute(status -> saveOrgRepos(user, remoteRepos));
+    }
+
+    private List<GithubRepoResponse> saveOrgRepos(Users user, Map<String, List<RemoteRepo>> remoteRepos) {
+        Map<String, Owner> owners = resolveOwners(user, new ArrayList<>(remoteRepos.keySet()));
+
+        Map<Long, Set<String>> storedNames = repoRepository.findAllByOwnerIdIn(
+                        owners.values().stream().map(Owner::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(repo -> repo.getOwner().getId(),
+                        Collectors.mapping(Repo::getRepoName, Collectors.toSet())));
+
+        List<Repo> newRepos = new ArrayList<>();
+        List<GithubRepoResponse> responses = new ArrayList<>(remoteRepos.size());
+        for (Map.Entry<String, List<RemoteRepo>> org : remoteRepos.entrySet()) {
+            Owner owner = owners.get(org.getKey());
+            Set<String> stored = storedNames.getOrDefault(owner.getId(), Set.of());
+            List<RepositoryResponseDTO> repoDTOList = new ArrayList<>();
+
+            for (RemoteRepo remote : org.getValue()) {
+                if (!stored.contains(remote.name())) {
+                    newRepos.add(Repo.builder()
+                            .owner(owner)
+                            .repoName(remote.name())
+                            .createdAt(remote.createdAt())
+                            .updatedAt(remote.updatedAt())
+                            .build());
+                }
+                repoDTOList.add(new RepositoryResponseDTO(remote.name(), remote.createdAt(), remote.updatedAt()));
+            }
+            responses.add(new GithubRepoResponse(org.getKey(), repoDTOList));
+        }
+
+        repoRepository.saveAll(newRepos);
+        return responses;
+    }
+
+    private Map<String, Owner> resolveOwners(Users user, List<String> orgNames) {
+        Map<String, Owner> owners = ownerRepository.findAllByUserId(user.getId()).stream()
+                .collect(Collectors.toMap(Owner::getOwnerName, owner -> owner, (a, b) -> a));
+
+        List<Owner> newOwners = orgNames.stream()
+                .filter(name -> !owners.containsKey(name))
+                .distinct()
+                .map(name -> Owner.builder()
+                        .user(user)
+                        .ownerName(name)
+                        .build())
+                .toList();
+        ownerRepository.saveAll(newOwners).forEach(owner -> owners.put(owner.getOwnerName(), owner));
+        return owners;
+    }
+
+    private List<RemoteRepo> fetchOrgRepos(String orgName, String token) {
+        List<RemoteRepo> repos = new ArrayList<>();
+        githubClient.getAllPages("org-repos", "https://api.github.com/orgs/" + orgName + "/repos?per_page=100", token,
+                new ParameterizedTypeReference<List<GithubPayload.RepositoryItem>>() {}, body -> {
+                    for (GithubPayload.RepositoryItem item : body) {
+                        repos.add(new RemoteRepo(
+                                item.name(),
+                                item.createdAt().toLocalDateTime(),
+                                item.updatedAt().toLocalDateTime()));
+                    }
+                    return true;
+                });
+        return repos;
+    }
+}
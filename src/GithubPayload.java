@@ -0,0 +1,79 @@
+package LogITBackend.LogIT.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * GitHub API 응답 중 실제로 읽는 필드만 담는 타입.
+ * Jackson이 응답을 스트리밍으로 읽으면서 여기에 없는 필드는 트리를 만들지 않고 건너뛴다.
+ */
+public final class GithubPayload {
+
+    private GithubPayload() {
+    }
+
+    /** GET /repos/{owner}/{repo}/commits 의 항목 */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record CommitItem(String sha, CommitInfo commit) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record CommitInfo(String message, Signature author) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Signature(OffsetDateTime date) {
+    }
+
+    /** GET /repos/{owner}/{repo}/commits/{sha} */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record CommitDetail(Stats stats, List<FileChange> files) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Stats(int additions, int deletions, int total) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record FileChange(String filename, long additions, long deletions, String patch) {
+    }
+
+    /** GET /repos/{owner}/{repo}/branches 의 항목 */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record BranchItem(String name) {
+    }
+
+    /** GET /users/{user}/repos, /orgs/{org}/repos 의 항목 */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record RepositoryItem(String name,
+                                 @JsonProperty("created_at") OffsetDateTime createdAt,
+                                 @JsonProperty("updated_at") OffsetDateTime updatedAt) {
+    }
+
+    /** GET /user/orgs 의 항목 */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record OrgItem(String login) {
+    }
+
+    /** push 웹훅 페이로드 */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PushEvent(String ref, String before, String after, boolean created, boolean deleted,
+                            boolean forced, PushRepository repository, List<PushCommit> commits) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PushRepository(String name, PushOwner owner) {
+    }
+
+    // 웹훅의 owner는 login 대신 name만 오는 경우가 있다.
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PushOwner(String login, String name) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PushCommit(String id, String message, OffsetDateTime timestamp) {
+    }
+}
@@ -0,0 +1,239 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.apiPayload.code.status.ErrorStatus;
+import LogITBackend.LogIT.apiPayload.exception.GeneralException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 토큰별 GitHub 호출 한도를 추적해 요청 순서를 정한다.
+ * 응답의 X-RateLimit-* 헤더로 남은 한도와 초기화 시각을 갱신하고,
+ * 남은 한도가 예약분 아래로 내려가면 백그라운드 동기화는 초기화 시각까지 기다리게 해 사용자 요청 몫을 남겨 둔다.
+ * 같은 토큰에 사용자 요청이 기다리는 동안에는 백그라운드 요청이 먼저 나가지 않는다.
+ */
+@Component
+public class GithubRateLimiter {
+
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY = ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final Map<String, TokenQuota> quotas = new ConcurrentHashMap<>();
+    private final int backgroundReserve;
+    private final long maxInteractiveWaitMillis;
+    private final long backoffBaseMillis;
+
+    public GithubRateLimiter(@Value("${github.rate-limit.background-reserve:500}") int backgroundReserve,
+                             @Value("${github.rate-limit.max-interactive-wait-ms:5000}") long maxInteractiveWaitMillis,
+                             @Value("${github.rate-limit.backoff-base-ms:1000}") long backoffBaseMillis) {
+        this.backgroundReserve = backgroundReserve;
+        this.maxInteractiveWaitMillis = maxInteractiveWaitMillis;
+        this.backoffBaseMillis = backoffBaseMillis;
+    }
+
+    /** work 안에서 나가는 GitHub 요청을 백그라운드 우선순위로 보낸다. */
+    public <T> T inBackground(Supplier<T> work) {
+        Priority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(Priority.BACKGROUND);
+        try {
+            return work.get();
+        } finally {
+            CURRENT_PRIORITY.set(previous);
+        }
+    }
+
+    public Priority currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    /**
+     * 요청을 보내도 될 때까지 기다린 뒤 한도를 하나 미리 차감한다.
+     *
+     * @throws GeneralException 사용자 요청이 max-interactive-wait-ms보다 오래 기다려야 하는 경우
+     */
+    public void acquire(String token, Priority priority) {
+        TokenQuota quota = quotas.computeIfAbsent(token, t -> new TokenQuota());
+        boolean interactive = priority == Priority.INTERACTIVE;
+        long started = System.currentTimeMillis();
+
+        quota.lock.lock();
+        try {
+            if (interactive) {
+                quota.interactiveWaiting++;
+            }
+            boolean waited = false;
+            while (true) {
+                long now = System.currentTimeMillis();
+                long waitUntil = quota.blockedUntil;
+                if (quota.remaining >= 0 && now < quota.resetAt) {
+                    int floor = interactive ? 0 : backgroundReserve;
+                    if (quota.remaining <= floor) {
+                        waitUntil = Math.max(waitUntil, quota.resetAt);
+                    }
+                }
+
+                boolean yieldToInteractive = !interactive && quota.interactiveWaiting > 0;
+                if (waitUntil <= now && !yieldToInteractive) {
+                    if (quota.remaining > 0) {
+                        quota.remaining--;
+                    }
+                    return;
+                }
+
+                if (interactive && waitUntil - started > maxInteractiveWaitMillis) {
+                    quota.rejected.increment();
+                    throw new GeneralException(ErrorStatus.GITHUB_RATE_LIMITED);
+                }
+                if (!waited) {
+                    quota.throttled.increment();
+                    waited = true;
+                }
+                // 한도 갱신이나 사용자 요청 완료 시 깨어나도록 조건 변수에서 기다린다.
+                long sleep = yieldToInteractive && waitUntil <= now ? 100 : waitUntil - now;
+                quota.changed.await(sleep, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GitHub 요청 대기 중 중단되었습니다.", e);
+        } finally {
+            if (interactive) {
+                quota.interactiveWaiting--;
+                quota.changed.signalAll();
+            }
+            quota.lock.unlock();
+        }
+    }
+
+    /** 응답 헤더의 X-RateLimit-Limit / Remaining / Reset 값을 반영한다. */
+    public void update(String token, HttpHeaders headers) {
+        String remaining = headers.getFirst("X-RateLimit-Remaining");
+        String reset = headers.getFirst("X-RateLimit-Reset");
+        if (remaining == null || reset == null) {
+            return;
+        }
+
+        TokenQuota quota = quotas.computeIfAbsent(token, t -> new TokenQuota());
+        quota.lock.lock();
+        try {
+            long resetAt = Long.parseLong(reset) * 1000;
+            int value = Integer.parseInt(remaining);
+            // 병렬 페이지 응답은 순서가 섞여 도착하므로 같은 구간에서는 더 작은 값을 믿는다.
+            quota.remaining = resetAt == quota.resetAt && quota.remaining >= 0 ? Math.min(quota.remaining, value) : value;
+            quota.resetAt = resetAt;
+            String limit = headers.getFirst("X-RateLimit-Limit");
+            if (limit != null) {
+                quota.limit = Integer.parseInt(limit);
+            }
+            quota.changed.signalAll();
+        } catch (NumberFormatException ignored) {
+            // 알 수 없는 형식이면 기존 값을 유지한다.
+        } finally {
+            quota.lock.unlock();
+        }
+    }
+
+    /**
+     * 403/429 응답이 한도 초과(1차 또는 2차 한도) 때문인지 판단한다.
+     * 권한이 없어 받은 403은 재시도해도 소용없으므로 제외한다.
+     */
+    public static boolean isRateLimited(HttpStatusCode status, HttpHeaders headers, String body) {
+        if (status.value() == 429) {
+            return true;
+        }
+        if (status.value() != 403) {
+            return false;
+        }
+        return headers.getFirst(HttpHeaders.RETRY_AFTER) != null
+                || "0".equals(headers.getFirst("X-RateLimit-Remaining"))
+                || (body != null && body.contains("rate limit"));
+    }
+
+    /**
+     * 한도 초과 응답을 받은 뒤 해당 토큰의 다음 요청 시각을 늦춘다.
+     * Retry-After가 있으면 그 값을, 남은 한도가 0이면 초기화 시각을, 둘 다 없으면 지수 백오프를 쓴다.
+     */
+    public void backOff(String token, HttpHeaders headers, int attempt) {
+        TokenQuota quota = quotas.computeIfAbsent(token, t -> new TokenQuota());
+        long now = System.currentTimeMillis();
+        long until;
+
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        String reset = headers.getFirst("X-RateLimit-Reset");
+        if (retryAfter != null && retryAfter.chars().allMatch(Character::isDigit)) {
+            until = now + Long.parseLong(retryAfter) * 1000;
+        } else if ("0".equals(headers.getFirst("X-RateLimit-Remaining")) && reset != null) {
+            until = Long.parseLong(reset) * 1000;
+        } else {
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, backoffBaseMillis << Math.min(attempt, 16));
+            until = now + backoff + ThreadLocalRandom.current().nextLong(backoffBaseMillis);
+        }
+
+        quota.lock.lock();
+        try {
+            quota.blockedUntil = Math.max(quota.blockedUntil, until);
+            quota.retried.increment();
+        } finally {
+            quota.lock.unlock();
+        }
+    }
+
+    /** 토큰별 한도 현황. 토큰 자체는 노출하지 않도록 끝 네 글자만 남긴다. */
+    public Map<String, QuotaSnapshot> getQuotaMetrics() {
+        Map<String, QuotaSnapshot> snapshot = new TreeMap<>();
+        quotas.forEach((token, quota) -> snapshot.put(mask(token), quota.snapshot()));
+        return snapshot;
+    }
+
+    private static String mask(String token) {
+        return token.length() <= 4 ? "****" : "****" + token.substring(token.length() - 4);
+    }
+
+    private static class TokenQuota {
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition changed = lock.newCondition();
+        final LongAdder throttled = new LongAdder();
+        final LongAdder retried = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        int limit = -1;
+        int remaining = -1;   // 첫 응답을 받기 전에는 알 수 없음
+        long resetAt;
+        long blockedUntil;
+        int interactiveWaiting;
+
+        QuotaSnapshot snapshot() {
+            lock.lock();
+            try {
+                return new QuotaSnapshot(limit, remaining,
+                        resetAt == 0 ? null : Instant.ofEpochMilli(resetAt),
+                        blockedUntil > System.currentTimeMillis() ? Instant.ofEpochMilli(blockedUntil) : null,
+                        throttled.sum(), retried.sum(), rejected.sum());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @param throttled 한도 때문에 기다린 요청 수
+     * @param retried   403/429를 받고 다시 보낸 횟수
+     * @param rejected  오래 기다려야 해서 바로 실패시킨 사용자 요청 수
+     */
+    public record QuotaSnapshot(int limit, int remaining, Instant resetAt, Instant blockedUntil,
+                                long throttled, long retried, long rejected) {
+    }
+}
@@ -0,0 +1,72 @@
+package LogITBackend.LogIT.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * GitHub 동기화 상태를 Redis에 보관한다.
+ * 마지막으로 저장한 브랜치 head SHA를 기억해 두고, 다음 동기화는 이 SHA가 나오는 지점까지만 내려간다.
+ * 동기화 대상별 마지막 동기화 시각도 함께 기록해 백그라운드 갱신 여부를 정한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GithubSyncStateStore {
+
+    private static final String HEAD_KEY_PREFIX = "github:branch-head:";
+    private static final String LAST_SYNC_KEY_PREFIX = "github:last-sync:";
+    private static final String WEBHOOK_KEY_PREFIX = "github:webhook-tracked:";
+    // 웹훅이 끊겨도 이 기간이 지나면 평소 주기의 폴링으로 돌아간다.
+    private static final Duration WEBHOOK_TRACKED_TTL = Duration.ofDays(7);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public Optional<String> getHeadSha(Long branchId) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(HEAD_KEY_PREFIX + branchId));
+    }
+
+    /** 트랜잭션 안에서 호출되면 커밋이 저장된 뒤에 기록한다. */
+    public void saveHeadSha(Long branchId, String sha) {
+        afterCommit(() -> redisTemplate.opsForValue().set(HEAD_KEY_PREFIX + branchId, sha));
+    }
+
+    public Optional<Instant> getLastSyncedAt(String syncKey) {
+        String value = redisTemplate.opsForValue().get(LAST_SYNC_KEY_PREFIX + syncKey);
+        return Optional.ofNullable(value).map(millis -> Instant.ofEpochMilli(Long.parseLong(millis)));
+    }
+
+    /** 트랜잭션 안에서 호출되면 커밋된 뒤에 기록한다. */
+    public void markSynced(String syncKey, Instant syncedAt) {
+        afterCommit(() -> redisTemplate.opsForValue().set(LAST_SYNC_KEY_PREFIX + syncKey, String.valueOf(syncedAt.toEpochMilli())));
+    }
+
+    /** 트랜잭션 안에서 호출되면 웹훅 커밋이 저장된 뒤에 기록한다. */
+    public void markWebhookTracked(String ownerName, String repoName) {
+        afterCommit(() -> redisTemplate.opsForValue().set(
+                WEBHOOK_KEY_PREFIX + ownerName + "/" + repoName, "1", WEBHOOK_TRACKED_TTL));
+    }
+
+    /** 최근에 push 웹훅을 받은 저장소인지 */
+    public boolean isWebhookTracked(String ownerName, String repoName) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(WEBHOOK_KEY_PREFIX + ownerName + "/" + repoName));
+    }
+
+    private static void afterCommit(Runnable write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write.run();
+                }
+            });
+        } else {
+            write.run();
+        }
+    }
+}
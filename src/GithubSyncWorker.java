@@ -0,0 +1,166 @@
+package LogITBackend.LogIT.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커밋·브랜치·저장소 목록을 요청 스레드 밖에서 갱신하는 백그라운드 동기화 작업 큐.
+ * 같은 대상의 작업이 이미 대기 중이거나 실행 중이면 새로 넣지 않고 합친다.
+ * 작업은 크기가 정해진 스레드 풀과 큐에서 백그라운드 우선순위로 실행되며, 끝나면 마지막 동기화 시각을 기록한다.
+ */
+@Slf4j
+@Component
+public class GithubSyncWorker {
+
+    public enum Type { COMMITS, BRANCHES, REPOS }
+
+    public record Job(Type type, Long userId, String owner, String repo, String branch) {
+
+        public static Job commits(Long userId, String owner, String repo, String branch) {
+            return new Job(Type.COMMITS, userId, owner, repo, branch);
+        }
+
+        public static Job branches(Long userId, String owner, String repo) {
+            return new Job(Type.BRANCHES, userId, owner, repo, null);
+        }
+
+        public static Job repos(Long userId) {
+            return new Job(Type.REPOS, userId, null, null, null);
+        }
+
+        String key() {
+            return switch (type) {
+                case COMMITS -> "commits:" + userId + ":" + owner + "/" + repo + "@" + branch;
+                case BRANCHES -> "branches:" + userId + ":" + owner + "/" + repo;
+                case REPOS -> "repos:" + userId;
+            };
+        }
+    }
+
+    private final GithubSynchronizer synchronizer;
+    private final GithubSyncStateStore syncStateStore;
+    private final GithubRateLimiter rateLimiter;
+    private final Duration staleAfter;
+    private final Duration webhookStaleAfter;
+    private final ThreadPoolExecutor executor;
+
+    // 대기 중이거나 실행 중인 작업
+    private final Set<Job> pending = ConcurrentHashMap.newKeySet();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public GithubSyncWorker(GithubSynchronizer synchronizer,
+                            GithubSyncStateStore syncStateStore,
+                            GithubRateLimiter rateLimiter,
+                            @Value("${github.sync.stale-after-seconds:300}") long staleAfterSeconds,
+                            @Value("${github.sync.webhook-stale-after-seconds:3600}") long webhookStaleAfterSeconds,
+                            @Value("${github.sync.workers:4}") int workers,
+                            @Value("${github.sync.queue-capacity:1000}") int queueCapacity) {
+        this.synchronizer = synchronizer;
+        this.syncStateStore = syncStateStore;
+        this.rateLimiter = rateLimiter;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+        this.webhookStaleAfter = Duration.ofSeconds(webhookStaleAfterSeconds);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "github-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 한 번도 동기화하지 않은 대상이면 보여 줄 데이터가 없으므로 호출한 스레드에서 바로 동기화하고,
+     * 마지막 동기화가 stale-after-seconds보다 오래됐으면 백그라운드 큐에 넣는다.
+     */
+    public void refreshIfStale(Job job) {
+        Optional<Instant> lastSyncedAt = syncStateStore.getLastSyncedAt(job.key());
+        if (lastSyncedAt.isEmpty()) {
+            synchronizer.run(job);
+            syncStateStore.markSynced(job.key(), Instant.now());
+            return;
+        }
+        // 웹훅으로 push를 받는 저장소는 대부분 최신이므로 드물게만 폴링해, 놓친 전달이 있어도 결국 메워지게 한다.
+        Duration threshold = job.type() == Type.COMMITS && syncStateStore.isWebhookTracked(job.owner(), job.repo())
+                ? webhookStaleAfter
+                : staleAfter;
+        if (lastSyncedAt.get().plus(threshold).isBefore(Instant.now())) {
+            enqueue(job);
+        }
+    }
+
+    /**
+     * @return 큐에 새로 넣었으면 true, 같은 작업이 이미 있거나 큐가 가득 찼으면 false
+     */
+    public boolean enqueue(Job job) {
+        if (!pending.add(job)) {
+            coalesced.increment();
+            return false;
+        }
+        try {
+            executor.execute(() -> runQueued(job));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 버려진 작업은 다음 조회 때 다시 오래된 데이터로 판단되어 들어온다.
+            pending.remove(job);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /** 트랜잭션 안에서 호출되면 커밋된 뒤에 큐에 넣어, 동기화가 방금 저장한 행을 보도록 한다. */
+    public void enqueueAfterCommit(Job job) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(job);
+                }
+            });
+        } else {
+            enqueue(job);
+        }
+    }
+
+    private void runQueued(Job job) {
+        try {
+            rateLimiter.inBackground(() -> {
+                synchronizer.run(job);
+                return null;
+            });
+            syncStateStore.markSynced(job.key(), Instant.now());
+            completed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("GitHub 백그라운드 동기화 실패: {}", job.key(), e);
+        } finally {
+            pending.remove(job);
+        }
+    }
+
+    public SyncStats getStats() {
+        return new SyncStats(executor.getQueue().size(), executor.getActiveCount(),
+                coalesced.sum(), rejected.sum(), completed.sum(), failed.sum());
+    }
+
+    public record SyncStats(int queued, int running, long coalesced, long rejected, long completed, long failed) {
+    }
+}
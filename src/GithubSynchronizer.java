@@ -0,0 +1,404 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.GithubPayload;
+import LogITBackend.LogIT.apiPayload.code.status.ErrorStatus;
+import LogITBackend.LogIT.apiPayload.exception.GeneralException;
+import LogITBackend.LogIT.domain.*;
+import LogITBackend.LogIT.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * GitHub의 커밋·브랜치·저장소 목록을 DB에 반영한다.
+ * 요청 스레드와 백그라운드 동기화 작업 양쪽에서 호출되므로 SecurityUtil 대신 userId를 직접 받는다.
+ * run과 syncCommitDetails는 같은 대상을 동시에 동기화하지 않도록 SingleFlight로 묶는다.
+ * GitHub 호출(페이징, 백오프, rate limit 대기)은 트랜잭션 밖에서 하고, 받은 결과는 끝에 짧은 새 트랜잭션에서 저장해
+ * 돌아오기 전에 커밋한다. 그래서 기다리던 호출도 결과를 바로 읽을 수 있고, 대기하는 동안 DB 커넥션을 잡지 않는다.
+ * 호출하는 쪽은 트랜잭션 밖에서 불러야 한다. 안에서 부르면 바깥 스냅샷에 결과가 보이지 않고 커넥션을 두 개 잡는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GithubSynchronizer {
+
+    private static final int BRANCH_INSERT_BATCH_SIZE = 500;
+    private static final int FILE_INSERT_BATCH_SIZE = 500;
+
+    private final OwnerRepository ownerRepository;
+    private final RepoRepository repoRepository;
+    private final UserRepository userRepository;
+    private final CommitRepository commitRepository;
+    private final BranchRepository branchRepository;
+    private final GithubClient githubClient;
+    private final GithubConditionalCache conditionalCache;
+    private final GithubSyncStateStore syncStateStore;
+    private final PatchStore patchStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    // 켜 두면 GitHub에서 지워진 브랜치를 DB에서도 지운다.
+    @Value("${github.sync.prune-branches:false}")
+    private boolean pruneBranches;
+
+    /**
+     * 작업 하나를 실행한다. 작업 전체를 트랜잭션으로 감싸지 않고, 개별 sync 메서드가 저장할 때만 짧은 트랜잭션을 연다.
+     * (같은 빈 안의 호출이라 @Transactional을 붙여도 프록시를 거치지 않으므로 TransactionTemplate으로 연다.)
+     */
+    public void run(GithubSyncWorker.Job job) {
+        singleFlight.execute(flightKey(job), () -> {
+            switch (job.type()) {
+                case COMMITS -> syncCommits(job.userId(), job.owner(), job.repo(), job.branch());
+                case BRANCHES -> syncBranches(job.userId(), job.owner(), job.repo());
+                case REPOS -> syncUserRepos(job.userId());
+            }
+            return null;
+        }, null);
+    }
+
+    // 커밋은 SHA가 기본키라 사용자가 달라도 같은 브랜치를 동시에 넣으면 충돌하므로 사용자 없이 저장소·브랜치로 묶는다.
+    private static String flightKey(GithubSyncWorker.Job job) {
+        if (job.type() == GithubSyncWorker.Type.COMMITS) {
+            return "commits:" + job.owner().toLowerCase() + "/" + job.repo().toLowerCase() + "@" + job.branch();
+        }
+        return job.key();
+    }
+
+    private void syncCommits(Long userId, String ownerName, String repoName, String branchName) {
+        String url = String.format("https://api.github.com/repos/%s/%s/commits?per_page=100&sha=%s", ownerName, repoName, branchName);
+
+        String token = tokenOf(userId);
+
+        Owner owner = ownerRepository.findByUserIdAndOwnerName(userId, ownerName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.OWNER_NOT_FOUND));
+
+        Repo repo = repoRepository.findByOwnerIdAndRepoName(owner.getId(), repoName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.REPO_NOT_FOUND));
+
+        Branch branch = branchRepository.findByRepoIdAndName(repo.getId(), branchName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.BRANCH_NOT_FOUND));
+
+        String knownHead = syncStateStore.getHeadSha(branch.getId()).orElse(null);
+        String[] newHead = new String[1];
+        List<Commit> newCommits = new ArrayList<>();
+
+        // 최신 커밋부터 내려오므로 지난번 head SHA가 나오면 그 아래는 모두 저장된 커밋이다.
+        // 작성일이 아니라 SHA로 비교하므로 rebase·cherry-pick으로 작성일이 과거인 커밋도 빠지지 않는다.
+        // 지난번 이후 브랜치에 변화가 없으면 GitHub가 304를 돌려주므로 아무것도 하지 않는다.
+        GithubClient.FirstPage firstPage = githubClient.getAllPages(
+                "commits",
+                url,
+                token,
+                new ParameterizedTypeReference<List<GithubPayload.CommitItem>>() {},
+                conditionalCache.conditionalHeaders(userId, url),
+                // 증분 동기화는 대개 첫 페이지에서 멈추므로 뒤쪽 페이지를 미리 받지 않는다.
+                false,
+                page -> {
+                    if (page.isEmpty()) {
+                        return false;
+                    }
+                    if (newHead[0] == null) {
+                        newHead[0] = page.get(0).sha();
+                    }
+
+                    List<GithubPayload.CommitItem> candidates = new ArrayList<>(page.size());
+                    boolean reachedKnownHead = false;
+                    for (GithubPayload.CommitItem item : page) {
+                        if (item.sha().equals(knownHead)) {
+                            reachedKnownHead = true;
+                            break;
+                        }
+                        candidates.add(item);
+                    }
+
+                    // head를 모르는 첫 동기화나 force push 이후에는 이미 저장된 커밋을 SHA로 한 번에 걸러낸다.
+                    // 읽기만 하므로 트랜잭션 없이 조회한다.
+                    List<String> shas = candidates.stream()
+                            .map(GithubPayload.CommitItem::sha)
+                            .toList();
+                    Set<String> existing = commitRepository.findAllById(shas).stream()
+                            .map(Commit::getId)
+                            .collect(Collectors.toSet());
+
+                    for (GithubPayload.CommitItem item : candidates) {
+                        String sha = item.sha();
+                        if (existing.contains(sha)) {
+                            continue;
+                        }
+                        LocalDateTime date = item.commit().author().date().toLocalDateTime();
+
+                        newCommits.add(new Commit(
+                                sha,
+                                item.commit().message(),
+                                null,  // stats 필드는 이후에 계산할 수 있음
+                                date,
+                                null,
+                                branch
+                        ));
+                    }
+
+                    // 아는 SHA에 닿았거나 한 페이지가 전부 저장된 커밋이면 더 내려갈 필요가 없다.
+                    // force push 뒤에는 저장된 head가 이력에 없으므로 뒤쪽 조건으로 멈춘다.
+                    return !reachedKnownHead && existing.size() < candidates.size();
+                }
+        );
+
+        // 페이지마다 커밋하면 중간에 실패했을 때 최신 페이지만 남고, 다음 동기화가 그 페이지에서 멈춰 아래쪽이 비게 된다.
+        // 그래서 받은 커밋을 모아 두었다가 한 번에 저장한다. GitHub 호출이 끝난 뒤라 트랜잭션은 INSERT 시간만큼만 열린다.
+        if (!newCommits.isEmpty()) {
+            inNewTransaction(() -> commitRepository.saveAll(newCommits));
+        }
+
+        // head와 검증값은 저장이 커밋된 뒤에 기록한다.
+        if (!firstPage.notModified()) {
+            conditionalCache.store(userId, url, firstPage.headers());
+            if (newHead[0] != null && !newHead[0].equals(knownHead)) {
+                syncStateStore.saveHeadSha(branch.getId(), newHead[0]);
+            }
+        }
+        if (!newCommits.isEmpty()) {
+            List<String> savedShas = newCommits.stream()
+                    .map(Commit::getId)
+                    .toList();
+            eventPublisher.publishEvent(new CommitDetailPrefetcher.CommitsSaved(userId, ownerName, repoName, savedShas));
+        }
+    }
+
+    private void syncBranches(Long userId, String ownerName, String repoName) {
+        String githubAccesstoken = tokenOf(userId);
+
+        Owner owner = ownerRepository.findByUserIdAndOwnerName(userId, ownerName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.OWNER_NOT_FOUND));
+
+        Repo repo = repoRepository.findByOwnerIdAndRepoName(owner.getId(), repoName)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.REPO_NOT_FOUND));
+
+        String url = "https://api.github.com/repos/" + ownerName + "/" + repoName + "/branches?per_page=100";
+
+        Set<String> remoteNames = new LinkedHashSet<>();
+        GithubClient.FirstPage firstPage = githubClient.getAllPages(
+                "branches",
+                url,
+                githubAccesstoken,
+                new ParameterizedTypeReference<List<GithubPayload.BranchItem>>() {},
+                conditionalCache.conditionalHeaders(userId, url),
+                page -> {
+                    for (GithubPayload.BranchItem branch : page) {
+                        remoteNames.add(branch.name());
+                    }
+                    return true;
+                }
+        );
+
+        // 브랜치 목록이 바뀌지 않았으면 저장할 것이 없다.
+        if (firstPage.notModified()) {
+            return;
+        }
+
+        // GitHub에서 다 받은 뒤에 저장만 짧은 트랜잭션에서 한다.
+        inNewTransaction(() -> {
+            saveBranches(repo, remoteNames);
+            return null;
+        });
+
+        // 브랜치 목록은 이름순이라 새 브랜치가 뒤쪽 페이지에 들어가면 첫 페이지의 ETag가 바뀌지 않는다.
+        // 한 페이지에 다 들어오는 저장소만 검증값을 남긴다.
+        if (!GithubClient.parseLinks(firstPage.headers()).containsKey("next")) {
+            conditionalCache.store(userId, url, firstPage.headers());
+        }
+    }
+
+    private void saveBranches(Repo repo, Set<String> remoteNames) {
+        // 기존 브랜치는 저장소 단위로 한 번에 읽어 이름으로 비교한다.
+        List<Branch> stored = branchRepository.findAllByRepoId(repo.getId());
+        Set<String> storedNames = stored.stream()
+                .map(Branch::getName)
+                .collect(Collectors.toSet());
+
+        List<String> newNames = remoteNames.stream()
+                .filter(name -> !storedNames.contains(name))
+                .toList();
+
+        // IDENTITY 키라 JPA saveAll은 한 행씩 INSERT하므로 JDBC 배치로 한 번에 넣는다.
+        // MySQL 드라이버는 datasource URL에 rewriteBatchedStatements=true가 있어야 배치를 다중 행 INSERT 하나로 보낸다.
+        // 없으면 배치여도 행마다 왕복한다.
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO branch (name, repo_id) VALUES (?, ?)",
+                newNames,
+                BRANCH_INSERT_BATCH_SIZE,
+                (pstmt, name) -> {
+                    pstmt.setString(1, name);
+                    pstmt.setLong(2, repo.getId());
+                });
+
+        if (pruneBranches) {
+            List<Branch> deleted = stored.stream()
+                    .filter(branch -> !remoteNames.contains(branch.getName()))
+                    .toList();
+            branchRepository.deleteAll(deleted);
+        }
+    }
+
+    private void syncUserRepos(Long userId) {
+        Users user = userRepository.findById(userId)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.USER_NOT_FOUND));
+
+        String githubAccesstoken = user.getGithubAccesstoken();
+        String githubNickname = user.getGithubNickname();
+
+        if (githubAccesstoken == null || githubNickname == null) {
+            throw new GeneralException(ErrorStatus.GITHUB_NOT_ACCESS);
+        }
+
+        Owner owner = ownerRepository.findByUserIdAndOwnerName(userId, githubNickname)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.OWNER_NOT_FOUND));
+
+        LocalDateTime latestDate = repoRepository.findLatestRepoCreatedAtByOwnerId(owner.getId())
+                .orElse(LocalDateTime.MIN);
+
+        // 생성일 내림차순으로 받아야 새 저장소가 항상 첫 페이지에 들어와 ETag가 바뀌고,
+        // 이미 저장된 저장소가 나오면 나머지 페이지를 건너뛸 수 있다.
+        String url = "https://api.github.com/users/" + githubNickname + "/repos?per_page=100&sort=created&direction=desc";
+        List<Repo> newRepos = new ArrayList<>();
+        GithubClient.FirstPage firstPage = githubClient.getAllPages("user-repos", url, githubAccesstoken,
+                new ParameterizedTypeReference<List<GithubPayload.RepositoryItem>>() {},
+                conditionalCache.conditionalHeaders(userId, url), false, body -> {
+            List<Repo> repoList = new ArrayList<>();
+
+            for (GithubPayload.RepositoryItem item : body) {
+                String name = item.name();
+                LocalDateTime createdAt = item.createdAt().toLocalDateTime();
+                LocalDateTime updatedAt = item.updatedAt().toLocalDateTime();
+
+                if (createdAt.isAfter(latestDate)) {
+                    Repo repo = Repo.builder()
+                            .owner(owner)
+                            .repoName(name)
+                            .createdAt(createdAt)
+                            .updatedAt(updatedAt)
+                            .build();
+
+                    repoList.add(repo);
+                }
+            }
+            newRepos.addAll(repoList);
+            return repoList.size() == body.size();
+        });
+
+        // 커밋과 마찬가지로 일부 페이지만 저장되면 최신 생성일이 앞당겨져 아래쪽 저장소를 건너뛰므로 한 번에 저장한다.
+        if (!newRepos.isEmpty()) {
+            inNewTransaction(() -> repoRepository.saveAll(newRepos));
+        }
+        if (!firstPage.notModified()) {
+            conditionalCache.store(userId, url, firstPage.headers());
+        }
+    }
+
+    /**
+     * stats가 비어 있는 커밋이면 GitHub에서 세부 정보를 받아 stats와 파일 목록을 저장한다.
+     * 이미 받아 둔 커밋은 잠금 없이 읽고 바로 돌아가며, 같은 커밋에 대한 동시 호출은 SingleFlight로 한 번만 받는다.
+     * GitHub 호출(rate limit 대기 포함)은 트랜잭션 밖에서 하고, 저장만 짧은 트랜잭션에서 커밋 행을 잠근 뒤 한다.
+     * 그 사이 다른 서버 인스턴스가 먼저 저장했을 수 있으므로 잠근 뒤 stats를 다시 확인한다.
+     *
+     * @return GitHub에서 새로 받아 저장했으면 true, 이미 저장됐거나 다른 호출이 아직 받는 중이면 false
+     */
+    public boolean syncCommitDetails(Long userId, String owner, String repo, String sha) {
+        Commit commit = commitRepository.findById(sha)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.COMMIT_NOT_FOUND));
+        if (commit.getStats() != null) {
+            return false;
+        }
+
+        return singleFlight.execute("commit-detail:" + sha, () -> {
+            GithubPayload.CommitDetail body = fetchCommitDetails(userId, owner, repo, sha);
+            return inNewTransaction(() -> {
+                Commit locked = entityManager.find(Commit.class, sha, LockModeType.PESSIMISTIC_WRITE);
+                if (locked == null) {
+                    throw new GeneralException(ErrorStatus.COMMIT_NOT_FOUND);
+                }
+                if (locked.getStats() != null) {
+                    return false;
+                }
+                saveCommitDetails(locked, body);
+                return true;
+            });
+        }, false);
+    }
+
+    private GithubPayload.CommitDetail fetchCommitDetails(Long userId, String owner, String repo, String sha) {
+        String token = tokenOf(userId);
+
+        String url = String.format("https://api.github.com/repos/%s/%s/commits/%s", owner, repo, sha);
+        return githubClient.get("commit-detail", url, token, GithubPayload.CommitDetail.class).getBody();
+    }
+
+    private void saveCommitDetails(Commit commit, GithubPayload.CommitDetail body) {
+        // stats 정보 세팅
+        GithubPayload.Stats stats = body.stats();
+        if (stats != null) {
+            String statsString = String.format("%d additions, %d deletions (total: %d)",
+                    stats.additions(), stats.deletions(), stats.total());
+            commit.setStats(statsString);
+            // 집계 쿼리용 숫자 컬럼. stats 문자열은 기존 응답 형식 때문에 그대로 둔다.
+            commit.setAdditions(stats.additions());
+            commit.setDeletions(stats.deletions());
+            commit.setTotalChanges(stats.total());
+        }
+        // files 저장 (patch 본문은 patch_blob에 중복 없이 압축해서 두고 해시만 연결한다)
+        List<GithubPayload.FileChange> changes = body.files() == null ? List.of() : body.files();
+        List<String> patchHashes = patchStore.storeAll(changes.stream().map(GithubPayload.FileChange::patch).toList());
+
+        List<Object[]> fileRows = new ArrayList<>(changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            GithubPayload.FileChange change = changes.get(i);
+            fileRows.add(new Object[]{commit.getId(), change.filename(), change.additions(), change.deletions(),
+                    patchHashes.get(i)});
+        }
+        // 커밋 하나에 파일이 수백 개일 수 있어, 한 행씩 INSERT하는 saveAll 대신 JDBC 배치로 넣는다.
+        // (브랜치 배치와 마찬가지로 rewriteBatchedStatements=true가 있어야 한 번의 왕복이 된다.)
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO file (commit_id, filename, additions, deletions, patch_hash) VALUES (?, ?, ?, ?, ?)",
+                fileRows,
+                FILE_INSERT_BATCH_SIZE,
+                (pstmt, row) -> {
+                    for (int i = 0; i < row.length; i++) {
+                        pstmt.setObject(i + 1, row[i]);
+                    }
+                });
+
+        // 업데이트 저장
+        commitRepository.save(commit);
+    }
+
+    private <T> T inNewTransaction(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> work.get());
+    }
+
+    private String tokenOf(Long userId) {
+        Users user = userRepository.findById(userId)
+                .orElseThrow(() -> new GeneralException(ErrorStatus.USER_NOT_FOUND));
+
+        String token = user.getGithubAccesstoken();
+        if (token == null) {
+            throw new GeneralException(ErrorStatus.GITHUB_NOT_ACCESS);
+        }
+        return token;
+    }
+}
@@ -0,0 +1,23 @@
+package LogITBackend.LogIT.controller;
+
+import LogITBackend.LogIT.DTO.WebhookResponse;
+import LogITBackend.LogIT.apiPayload.ApiResponse;
+import LogITBackend.LogIT.service.GithubWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/github/webhook")
+public class GithubWebhookController {
+
+    private final GithubWebhookService githubWebhookService;
+
+    // 서명은 원문 바이트로 계산되므로 본문을 객체로 바꾸지 않고 그대로 받는다.
+    @PostMapping
+    public ApiResponse<WebhookResponse> receive(@RequestHeader("X-GitHub-Event") String event,
+                                                @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+                                                @RequestBody byte[] payload) {
+        return ApiResponse.onSuccess(githubWebhookService.receive(event, signature, payload));
+    }
+}
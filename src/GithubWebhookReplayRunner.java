@@ -0,0 +1,52 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.GithubPayload;
+import LogITBackend.LogIT.DTO.WebhookResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * github.webhook.replay-dir에 기록해 둔 push 페이로드(*.json)를 파일 이름 순서대로 다시 넣는다.
+ * GitHub 없이 로컬에서 웹훅 저장 경로를 확인할 때 쓰며, 로컬 파일이므로 서명은 검사하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.webhook.replay-dir")
+public class GithubWebhookReplayRunner implements ApplicationRunner {
+
+    private final GithubWebhookService githubWebhookService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${github.webhook.replay-dir}")
+    private Path replayDir;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(replayDir)) {
+            files = stream.filter(path -> path.toString().endsWith(".json"))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            WebhookResponse response = githubWebhookService.ingestPush(
+                    objectMapper.readValue(file.toFile(), GithubPayload.PushEvent.class));
+            log.info("웹훅 재생 {}: {} {} 커밋 {}개 중 {}개 저장", file.getFileName(), response.getRepository(),
+                    response.getBranch(), response.getReceivedCommits(), response.getSavedCommits());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.GithubPayload;
+import LogITBackend.LogIT.DTO.WebhookResponse;
+
+public interface GithubWebhookService {
+
+    /** 서명을 검증한 뒤 이벤트를 처리한다. push 외의 이벤트는 저장 없이 응답만 돌려준다. */
+    WebhookResponse receive(String event, String signature, byte[] payload);
+
+    /** 서명 검증이 끝났거나 기록해 둔 push 페이로드의 커밋을 저장한다. */
+    WebhookResponse ingestPush(GithubPayload.PushEvent payload);
+}
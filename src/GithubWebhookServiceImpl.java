@@ -0,0 +1,210 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.GithubPayload;
+import LogITBackend.LogIT.DTO.WebhookResponse;
+import LogITBackend.LogIT.apiPayload.code.status.ErrorStatus;
+import LogITBackend.LogIT.apiPayload.exception.GeneralException;
+import LogITBackend.LogIT.domain.*;
+import LogITBackend.LogIT.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * GitHub push 웹훅으로 들어온 커밋을 바로 저장한다.
+ * 웹훅을 받은 저장소는 추적 중으로 표시해 두어, 조회 시 GitHub를 드물게만 폴링하게 한다.
+ * GitHub는 실패한 전달을 자동으로 다시 보내지 않으므로, 이전 push를 놓쳤거나 페이로드만으로는 이력이 다 오지 않는
+ * push이면 저장 후 일반 커밋 동기화를 큐에 넣어 메운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class GithubWebhookServiceImpl implements GithubWebhookService {
+
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+    // push 페이로드의 commits 배열은 이 개수에서 잘린다.
+    private static final int MAX_PAYLOAD_COMMITS = 2048;
+
+    private final OwnerRepository ownerRepository;
+    private final RepoRepository repoRepository;
+    private final CommitRepository commitRepository;
+    private final BranchRepository branchRepository;
+    private final GithubSyncStateStore syncStateStore;
+    private final GithubSyncWorker syncWorker;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${github.webhook.secret:}")
+    private String webhookSecret;
+
+    @Override
+    public WebhookResponse receive(String event, String signature, byte[] payload) {
+        verifySignature(signature, payload);
+
+        if (!"push".equals(event)) {
+            // ping 등은 저장할 것이 없다.
+            return WebhookResponse.builder()
+                    .event(event)
+                    .build();
+        }
+
+        GithubPayload.PushEvent pushEvent;
+        try {
+            pushEvent = objectMapper.readValue(payload, GithubPayload.PushEvent.class);
+        } catch (IOException e) {
+            throw new GeneralException(ErrorStatus.INVALID_WEBHOOK_PAYLOAD);
+        }
+        // 같은 빈 안의 호출이라 ingestPush의 @Transactional이 적용되지 않으므로 여기서 트랜잭션을 연다.
+        // 그래야 중간에 실패해도 DB가 롤백되고, head SHA·동기화 시각도 커밋된 뒤에만 Redis에 기록된다.
+        return new TransactionTemplate(transactionManager).execute(status -> ingestPush(pushEvent));
+    }
+
+    @Override
+    @Transactional
+    public WebhookResponse ingestPush(GithubPayload.PushEvent payload) {
+        String ref = payload.ref() == null ? "" : payload.ref();
+        GithubPayload.PushOwner pushOwner = payload.repository().owner();
+        String ownerName = pushOwner.login() != null ? pushOwner.login() : pushOwner.name();
+        String repoName = payload.repository().name();
+        List<GithubPayload.PushCommit> pushed = payload.commits() == null ? List.of() : payload.commits();
+
+        WebhookResponse.WebhookResponseBuilder response = WebhookResponse.builder()
+                .event("push")
+                .repository(ownerName + "/" + repoName)
+                .receivedCommits(pushed.size());
+
+        // 태그 push나 브랜치 삭제는 커밋 목록에 반영할 것이 없다.
+        if (!ref.startsWith(BRANCH_REF_PREFIX) || payload.deleted()) {
+            return response.build();
+        }
+        String branchName = ref.substring(BRANCH_REF_PREFIX.length());
+        String headSha = payload.after();
+        response.branch(branchName);
+
+        List<String> shas = pushed.stream()
+                .map(GithubPayload.PushCommit::id)
+                .toList();
+
+        int saved = 0;
+
+        // 같은 GitHub 저장소를 여러 사용자가 등록했을 수 있으므로 해당 owner 이름을 가진 모든 Owner에 반영한다.
+        for (Owner owner : ownerRepository.findAllByOwnerName(ownerName)) {
+            Optional<Repo> repo = repoRepository.findByOwnerIdAndRepoName(owner.getId(), repoName);
+            if (repo.isEmpty()) {
+                continue;
+            }
+
+            Branch branch = branchRepository.findByRepoIdAndName(repo.get().getId(), branchName)
+                    .orElseGet(() -> branchRepository.save(new Branch(
+                            null,
+                            branchName,
+                            repo.get(),
+                            new ArrayList<>()
+                    )));
+
+            Map<String, Commit> stored = commitRepository.findAllById(shas).stream()
+                    .collect(Collectors.toMap(Commit::getId, commit -> commit));
+
+            // 커밋은 SHA가 기본키라 한 브랜치에만 연결된다. 앞선 Owner의 브랜치에 먼저 저장된 커밋은 이 브랜치에 연결되지 않는다.
+            boolean receivedAll = true;
+            List<Commit> newCommits = new ArrayList<>();
+            for (GithubPayload.PushCommit pushedCommit : pushed) {
+                String sha = pushedCommit.id();
+                Commit storedCommit = stored.get(sha);
+                if (storedCommit != null) {
+                    receivedAll &= Objects.equals(storedCommit.getBranch().getId(), branch.getId());
+                    continue;
+                }
+                Commit commit = new Commit(
+                        sha,
+                        pushedCommit.message(),
+                        null,
+                        toUtc(pushedCommit.timestamp()),
+                        null,
+                        branch
+                );
+                stored.put(sha, commit);
+                newCommits.add(commit);
+            }
+            commitRepository.saveAll(newCommits);
+            saved += newCommits.size();
+
+            Long userId = owner.getUser().getId();
+            GithubSyncWorker.Job job = GithubSyncWorker.Job.commits(userId, ownerName, repoName, branchName);
+            if (mayMissCommits(payload, pushed, syncStateStore.getHeadSha(branch.getId()).orElse(null))) {
+                // head를 옮기면 동기화가 새 head에서 바로 멈추므로, 예전 head를 둔 채 동기화가 이력을 따라 내려가게 한다.
+                syncWorker.enqueueAfterCommit(job);
+                continue;
+            }
+            if (!receivedAll) {
+                // push된 커밋이 이 브랜치에 붙지 않았는데 head를 옮기면 다음 폴링이 새 head에서 바로 멈춘다.
+                // head와 동기화 시각을 그대로 두어 다음 폴링이 평소처럼 이력을 다시 확인하게 한다.
+                continue;
+            }
+            if (headSha != null) {
+                syncStateStore.saveHeadSha(branch.getId(), headSha);
+            }
+            syncStateStore.markSynced(job.key(), Instant.now());
+        }
+
+        // 저장이 끝까지 성공해 커밋된 뒤에만 추적 중으로 표시된다.
+        syncStateStore.markWebhookTracked(ownerName, repoName);
+        return response.savedCommits(saved).build();
+    }
+
+    /**
+     * 페이로드의 커밋만으로는 브랜치 이력이 다 채워지지 않을 수 있는 push인지.
+     * 저장된 head가 before와 다르면 그 사이의 push를 놓친 것이고, 새 브랜치·force push는 기존 이력이나 재작성된 이력을,
+     * 잘린 commits 배열이나 마지막 커밋이 after가 아닌 push는 빠진 커밋을 가질 수 있다.
+     */
+    private static boolean mayMissCommits(GithubPayload.PushEvent payload, List<GithubPayload.PushCommit> pushed,
+                                          String storedHead) {
+        return payload.created()
+                || payload.forced()
+                || storedHead == null
+                || !storedHead.equals(payload.before())
+                || pushed.size() >= MAX_PAYLOAD_COMMITS
+                || pushed.isEmpty()
+                || !pushed.get(pushed.size() - 1).id().equals(payload.after());
+    }
+
+    private void verifySignature(String signature, byte[] payload) {
+        if (webhookSecret.isEmpty() || signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            throw new GeneralException(ErrorStatus.INVALID_WEBHOOK_SIGNATURE);
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = HexFormat.of().formatHex(mac.doFinal(payload)).getBytes(StandardCharsets.US_ASCII);
+            byte[] actual = signature.substring(SIGNATURE_PREFIX.length()).getBytes(StandardCharsets.US_ASCII);
+            // 비교 시간으로 서명이 새지 않도록 상수 시간 비교를 쓴다.
+            if (!MessageDigest.isEqual(expected, actual)) {
+                throw new GeneralException(ErrorStatus.INVALID_WEBHOOK_SIGNATURE);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 웹훅 timestamp는 작성자 시간대 오프셋이 붙어 오므로, API 동기화와 같이 UTC 기준으로 맞춘다.
+    private static LocalDateTime toUtc(OffsetDateTime timestamp) {
+        return timestamp.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
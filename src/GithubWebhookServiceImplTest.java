@@ -0,0 +1,133 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.DTO.GithubPayload;
+import LogITBackend.LogIT.DTO.WebhookResponse;
+import LogITBackend.LogIT.domain.*;
+import LogITBackend.LogIT.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GithubWebhookServiceImplTest {
+
+    private static final String OWNER = "acme";
+    private static final String REPO = "api";
+    private static final String BRANCH = "main";
+
+    @Mock
+    private OwnerRepository ownerRepository;
+    @Mock
+    private RepoRepository repoRepository;
+    @Mock
+    private CommitRepository commitRepository;
+    @Mock
+    private BranchRepository branchRepository;
+    @Mock
+    private GithubSyncStateStore syncStateStore;
+    @Mock
+    private GithubSyncWorker syncWorker;
+    @Mock
+    private ObjectMapper objectMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private GithubWebhookServiceImpl webhookService;
+
+    // 두 사용자가 같은 저장소를 등록해 두었으면 커밋은 먼저 처리한 쪽 브랜치에만 붙으므로,
+    // 나머지 브랜치의 head는 옮기지 않아야 다음 폴링이 빠진 부분을 다시 확인한다.
+    @Test
+    void pushForRepoTrackedByTwoUsersMovesHeadOnlyForBranchThatReceivedCommits() {
+        Branch firstBranch = trackedBranch(1L, 11L, 101L, 1001L);
+        Branch secondBranch = trackedBranch(2L, 12L, 102L, 1002L);
+        List<Owner> owners = List.of(firstBranch.getRepo().getOwner(), secondBranch.getRepo().getOwner());
+        when(ownerRepository.findAllByOwnerName(OWNER)).thenReturn(owners);
+
+        Map<String, Commit> db = new HashMap<>();
+        when(commitRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Commit> found = new ArrayList<>();
+            for (String sha : invocation.<Iterable<String>>getArgument(0)) {
+                if (db.containsKey(sha)) {
+                    found.add(db.get(sha));
+                }
+            }
+            return found;
+        });
+        when(commitRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Commit> saved = new ArrayList<>();
+            for (Commit commit : invocation.<Iterable<Commit>>getArgument(0)) {
+                db.put(commit.getId(), commit);
+                saved.add(commit);
+            }
+            return saved;
+        });
+
+        WebhookResponse response = webhookService.ingestPush(push("c0", "c2", "c1", "c2"));
+
+        assertThat(response.getSavedCommits()).isEqualTo(2);
+        assertThat(db.values()).allMatch(commit -> commit.getBranch() == firstBranch);
+
+        verify(syncStateStore).saveHeadSha(1001L, "c2");
+        verify(syncStateStore, never()).saveHeadSha(eq(1002L), anyString());
+        verify(syncStateStore).markSynced(eq(GithubSyncWorker.Job.commits(1L, OWNER, REPO, BRANCH).key()), any());
+        verify(syncStateStore, never()).markSynced(eq(GithubSyncWorker.Job.commits(2L, OWNER, REPO, BRANCH).key()), any());
+        verify(syncStateStore).markWebhookTracked(OWNER, REPO);
+    }
+
+    // 사용자 하나가 등록한 저장소에 push가 순서대로 들어오면 head를 바로 옮긴다.
+    @Test
+    void pushForRepoTrackedByOneUserMovesHead() {
+        Branch branch = trackedBranch(1L, 11L, 101L, 1001L);
+        when(ownerRepository.findAllByOwnerName(OWNER)).thenReturn(List.of(branch.getRepo().getOwner()));
+        when(commitRepository.findAllById(any())).thenReturn(List.of());
+
+        WebhookResponse response = webhookService.ingestPush(push("c0", "c1", "c1"));
+
+        assertThat(response.getSavedCommits()).isEqualTo(1);
+        verify(syncStateStore).saveHeadSha(1001L, "c1");
+        verify(syncWorker, never()).enqueueAfterCommit(any());
+    }
+
+    private Branch trackedBranch(Long userId, Long ownerId, Long repoId, Long branchId) {
+        Users user = mock(Users.class);
+        when(user.getId()).thenReturn(userId);
+
+        Owner owner = mock(Owner.class);
+        when(owner.getId()).thenReturn(ownerId);
+        when(owner.getUser()).thenReturn(user);
+
+        Repo repo = mock(Repo.class);
+        when(repo.getId()).thenReturn(repoId);
+        lenient().when(repo.getOwner()).thenReturn(owner);
+        when(repoRepository.findByOwnerIdAndRepoName(ownerId, REPO)).thenReturn(Optional.of(repo));
+
+        Branch branch = mock(Branch.class);
+        lenient().when(branch.getId()).thenReturn(branchId);
+        lenient().when(branch.getRepo()).thenReturn(repo);
+        when(branchRepository.findByRepoIdAndName(repoId, BRANCH)).thenReturn(Optional.of(branch));
+
+        // 직전 push까지 받아 둔 상태라 before가 저장된 head와 같다.
+        when(syncStateStore.getHeadSha(branchId)).thenReturn(Optional.of("c0"));
+        return branch;
+    }
+
+    private static GithubPayload.PushEvent push(String before, String after, String... shas) {
+        List<GithubPayload.PushCommit> commits = Arrays.stream(shas)
+                .map(sha -> new GithubPayload.PushCommit(sha, "commit " + sha, OffsetDateTime.now()))
+                .toList();
+        return new GithubPayload.PushEvent("refs/heads/" + BRANCH, before, after, false, false, false,
+                new GithubPayload.PushRepository(REPO, new GithubPayload.PushOwner(OWNER, null)), commits);
+    }
+}
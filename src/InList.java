@@ -0,0 +1,64 @@
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 가변 길이 IN 절을 고정된 크기(8/32/128/512)로 맞추는 도우미.
+ * 목록 길이가 달라도 SQL 문자열은 버킷 수만큼만 생기므로 커넥션의 statement 캐시에서 재사용된다.
+ * 남는 자리는 마지막 ID를 반복해 채운다. IN 절에서 중복 값은 결과에 영향을 주지 않는다.
+ */
+public final class InList {
+
+    private static final int[] BUCKETS = {8, 32, 128, 512};
+    private static final String[] PLACEHOLDERS = new String[BUCKETS.length];
+
+    static {
+        for (int i = 0; i < BUCKETS.length; i++) {
+            PLACEHOLDERS[i] = String.join(",", Collections.nCopies(BUCKETS[i], "?"));
+        }
+    }
+
+    private InList() {
+    }
+
+    /** 한 번의 쿼리에 담을 수 있는 최대 ID 수 */
+    public static int maxSize() {
+        return BUCKETS[BUCKETS.length - 1];
+    }
+
+    /** size개의 ID를 담을 수 있는 가장 작은 버킷의 "?,?,..." 목록 */
+    public static String placeholders(int size) {
+        return PLACEHOLDERS[bucketIndex(size)];
+    }
+
+    /**
+     * ids를 startIndex부터 바인딩하고 버킷 크기까지 마지막 ID로 채운다.
+     *
+     * @return 다음에 바인딩할 파라미터 인덱스
+     */
+    public static int bind(PreparedStatement pstmt, int startIndex, List<Integer> ids) throws SQLException {
+        int bucket = BUCKETS[bucketIndex(ids.size())];
+        int index = startIndex;
+        for (int id : ids) {
+            pstmt.setInt(index++, id);
+        }
+        int padding = ids.get(ids.size() - 1);
+        for (int i = ids.size(); i < bucket; i++) {
+            pstmt.setInt(index++, padding);
+        }
+        return index;
+    }
+
+    private static int bucketIndex(int size) {
+        if (size <= 0 || size > maxSize()) {
+            throw new IllegalArgumentException("IN 절 크기는 1~" + maxSize() + " 사이여야 합니다: " + size);
+        }
+        for (int i = 0; i < BUCKETS.length; i++) {
+            if (size <= BUCKETS[i]) {
+                return i;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
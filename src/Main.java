@@ -1,72 +1,174 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.*;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.function.BiConsumer;
 
 public class Main {
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/usedmarketdb";
+    // 서버 측 prepared statement를 써야 커넥션에 캐시된 statement가 서버의 파싱 결과까지 재사용한다.
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/usedmarketdb?useServerPrepStmts=true";
     private static final String DB_USER = "root";
     private static final String DB_PASSWORD = "root";
+    // 조회 전용 커넥션은 복제본으로 보낼 수 있다. 지정하지 않으면 기본 DB를 사용한다.
+    private static final String DB_REPLICA_URL = System.getenv().getOrDefault("DB_REPLICA_URL", DB_URL);
+    private static final int POOL_SIZE = 5;
+    private static final int STREAM_PAUSE_ROWS = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final ConnectionPool POOL = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD, POOL_SIZE);
+    private static final ConnectionPool READ_POOL = new ConnectionPool(DB_REPLICA_URL, DB_USER, DB_PASSWORD, POOL_SIZE, true);
+    private static final QueryTimings TIMINGS = new QueryTimings();
+    private static final ReviewStatsCache REVIEW_STATS_CACHE = new ReviewStatsCache(10_000, 5 * 60 * 1000);
+    private static final SellerRatingStore SELLER_RATINGS = new SellerRatingStore(POOL);
+    private static final long RATING_REFRESH_INTERVAL_MILLIS = 60 * 1000;
+
+    private static boolean readOnlyMode = true;
+    private static TableRenderer.Format outputFormat = TableRenderer.Format.TABLE;
+    private static final PagedQueries PAGED = new PagedQueries(READ_POOL);
+    private static final BatchQueries BATCH = new BatchQueries(READ_POOL);
+
+    private interface PageFetcher<T> {
+        Page<T> fetch(Page.Cursor cursor, Page.Direction direction) throws SQLException;
+    }
 
     public static void main(String[] args) {
 
-        Scanner sc = new Scanner(System.in);
+        Scanner sc = ConsoleIO.install();
 
         while (true) {
-            System.out.println("=============================");
-            System.out.println("\uD83D\uDCE6 중고거래 플랫폼 조회 시스템");
-            System.out.println("=============================");
-            System.out.println("1. 특정 회원이 등록한 상품 조회");
-            System.out.println("2. 사용자가 찜한 상품 목록 조회");
-            System.out.println("3. 특정 기간 내 거래 내역 조회");
-            System.out.println("4. 판매자의 평균 평점 및 리뷰 수 조회");
-            System.out.println("5. 특정 회원의 판매중 상품 조회");
-            System.out.println("0. 종료");
-            System.out.print("\n 메뉴 선택: ");
+            ui().println("=============================");
+            ui().println("\uD83D\uDCE6 중고거래 플랫폼 조회 시스템");
+            ui().println("=============================");
+            ui().println("1. 특정 회원이 등록한 상품 조회");
+            ui().println("2. 사용자가 찜한 상품 목록 조회");
+            ui().println("3. 특정 기간 내 거래 내역 조회");
+            ui().println("4. 판매자의 평균 평점 및 리뷰 수 조회");
+            ui().println("5. 특정 회원의 판매중 상품 조회");
+            ui().println("6. 커넥션 풀 상태 조회");
+            ui().println("7. 특정 기간 내 거래 내역 스트리밍 조회 (대용량)");
+            ui().println("8. 특정 회원이 등록한 상품 스트리밍 조회 (대용량)");
+            ui().println("9. 상품/찜/거래 목록 페이지 단위 조회");
+            ui().println("10. 여러 회원 일괄 조회 (1/2/5번 메뉴)");
+            ui().println("11. 조회 모드 전환 (현재: " + (readOnlyMode ? "읽기 전용" : "트랜잭션") + ")");
+            ui().println("12. 조회 모드별 소요 시간 비교");
+            ui().println("13. 판매자 리뷰 통계 캐시 상태");
+            ui().println("14. 판매자 평점 집계 증분 갱신");
+            ui().println("15. 판매자 평점 집계 재구축");
+            ui().println("16. 판매자 평점 집계 정합성 검사");
+            ui().println("17. 출력 형식 변경 (현재: " + outputFormat + ")");
+            ui().println("0. 종료");
+            ui().print("\n 메뉴 선택: ");
 
             int choice = -1;
             try {
                 choice = Integer.parseInt(sc.nextLine());
             } catch (NumberFormatException e) {
-                System.out.println("숫자를 입력해주세요.\n");
+                ui().println("숫자를 입력해주세요.\n");
                 continue;
             }
 
             switch (choice) {
                 case 1:
-                    System.out.print("- 회원 ID를 입력하세요: ");
+                    ui().print("- 회원 ID를 입력하세요: ");
                     int userId = Integer.parseInt(sc.nextLine());
                     findProductsByUserId(userId);
                     break;
                 case 2:
-                    System.out.print("- 사용자 ID를 입력하세요: ");
+                    ui().print("- 사용자 ID를 입력하세요: ");
                     int userId2 = Integer.parseInt(sc.nextLine());
                     findWishlistByUserId(userId2);
                     break;
                 case 3:
-                    System.out.print("- 시작일 (YYYY-MM-DD): ");
+                    ui().print("- 시작일 (YYYY-MM-DD): ");
                     String startDate = sc.nextLine();
-                    System.out.print("- 종료일 (YYYY-MM-DD): ");
+                    ui().print("- 종료일 (YYYY-MM-DD): ");
                     String endDate = sc.nextLine();
                     findTransactionsInPeriod(startDate, endDate);
                     break;
                 case 4:
-                    System.out.print("- 판매자 ID들을 쉼표로 입력하세요 (예: 10,20,30): ");
+                    ui().print("- 판매자 ID들을 쉼표로 입력하세요 (예: 10,20,30): ");
                     String[] ids = sc.nextLine().split(",");
                     int[] sellerIds = Arrays.stream(ids).mapToInt(Integer::parseInt).toArray();
                     findReviewStatsBySellerIds(sellerIds);
                     break;
                 case 5:
-                    System.out.print("- 회원 ID를 입력하세요: ");
+                    ui().print("- 회원 ID를 입력하세요: ");
                     int userId5 = Integer.parseInt(sc.nextLine());
                     findActiveProductsByUser(userId5);
                     break;
+                case 6:
+                    printPoolStats();
+                    break;
+                case 7:
+                    ui().print("- 시작일 (YYYY-MM-DD): ");
+                    String streamStart = sc.nextLine();
+                    ui().print("- 종료일 (YYYY-MM-DD): ");
+                    String streamEnd = sc.nextLine();
+                    streamTransactionsInPeriod(streamStart, streamEnd, readRowLimit(sc), sc);
+                    break;
+                case 8:
+                    ui().print("- 회원 ID를 입력하세요: ");
+                    int streamUserId = Integer.parseInt(sc.nextLine());
+                    streamProductsByUserId(streamUserId, readRowLimit(sc), sc);
+                    break;
+                case 9:
+                    browsePages(sc);
+                    break;
+                case 10:
+                    ui().print("- 조회 종류 (1: 등록 상품, 2: 찜 목록, 5: 판매중 상품): ");
+                    String batchKind = sc.nextLine().trim();
+                    ui().print("- 회원 ID들을 쉼표로 입력하거나 @파일경로를 입력하세요: ");
+                    List<Integer> batchIds = readIds(sc.nextLine());
+                    if (batchIds != null) {
+                        findByUserIdsInBatch(batchKind, batchIds);
+                    }
+                    break;
+                case 11:
+                    readOnlyMode = !readOnlyMode;
+                    ui().println("조회 모드가 '" + (readOnlyMode ? "읽기 전용" : "트랜잭션") + "'(으)로 변경되었습니다.\n");
+                    break;
+                case 12:
+                    TIMINGS.print();
+                    break;
+                case 13:
+                    REVIEW_STATS_CACHE.print();
+                    break;
+                case 14:
+                    refreshSellerRatings();
+                    break;
+                case 15:
+                    rebuildSellerRatings();
+                    break;
+                case 16:
+                    checkSellerRatings();
+                    break;
+                case 17:
+                    ui().print("- 출력 형식 (TABLE, CSV, TSV): ");
+                    try {
+                        outputFormat = TableRenderer.Format.valueOf(sc.nextLine().trim().toUpperCase());
+                        ConsoleIO.setDataOnlyStdout(outputFormat != TableRenderer.Format.TABLE);
+                        ui().println("출력 형식이 " + outputFormat + "(으)로 변경되었습니다.\n");
+                    } catch (IllegalArgumentException e) {
+                        ui().println("잘못된 출력 형식입니다.\n");
+                    }
+                    break;
                 case 0:
-                    System.out.println("프로그램을 종료합니다. 안녕히 가세요!");
+                    POOL.close();
+                    READ_POOL.close();
+                    ui().println("프로그램을 종료합니다. 안녕히 가세요!");
+                    System.out.flush();
                     return;
                 default:
-                    System.out.println("잘못된 메뉴 선택입니다. 다시 입력해주세요.\n");
+                    ui().println("잘못된 메뉴 선택입니다. 다시 입력해주세요.\n");
             }
         }
     }
@@ -75,34 +177,68 @@ public class Main {
         String query = "SELECT product_id, title, product_name, price, status, created_at " +
                 "FROM Product WHERE user_id = ? ORDER BY created_at DESC";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+        long started = System.nanoTime();
+        try (ConnectionPool.PooledConnection conn = borrowForQuery()) {
+            beginQuery(conn);
+            try {
+                PreparedStatement pstmt = conn.prepare(query);
                 pstmt.setInt(1, userId);
                 ResultSet rs = pstmt.executeQuery();
+                long fetched = System.nanoTime();
 
-                System.out.println("\n[회원 ID: " + userId + "] 등록 상품 목록");
-                System.out.println("--------------------------------------------------");
-                System.out.println("상품 ID | 제목 | 상품명 | 가격 | 상태 | 등록일");
-                System.out.println("--------------------------------------------------");
+                ui().println("\n[회원 ID: " + userId + "] 등록 상품 목록");
+                TableRenderer table = newTable("상품 ID", "제목", "상품명", "가격", "상태", "등록일");
 
                 while (rs.next()) {
-                    System.out.printf("%d | %s | %s | %d | %s | %s\n",
-                            rs.getLong("product_id"),
-                            rs.getString("title"),
-                            rs.getString("product_name"),
-                            rs.getInt("price"),
-                            rs.getString("status"),
-                            rs.getTimestamp("created_at").toString());
+                    table.cell(rs.getLong("product_id"))
+                            .cell(rs.getString("title"))
+                            .cell(rs.getString("product_name"))
+                            .cell(rs.getInt("price"))
+                            .cell(rs.getString("status"))
+                            .cell(rs.getObject("created_at", LocalDateTime.class))
+                            .endRow();
                 }
-                System.out.println();
-                conn.commit();
+                table.flush();
+                rs.close();
+                ui().println();
+                endQuery(conn, "회원 등록 상품", started, fetched);
+            } catch (SQLException e) {
+                rollbackQuery(conn);
+                ui().println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+            }
+        } catch (SQLException e) {
+            ui().println("DB 연결 실패: " + e.getMessage());
+        }
+    }
+
+    public static void streamProductsByUserId(int userId, int rowLimit, Scanner sc) {
+        String query = "SELECT product_id, title, product_name, price, status, created_at " +
+                "FROM Product WHERE user_id = ? ORDER BY created_at DESC";
+
+        try (ConnectionPool.PooledConnection conn = borrowForQuery()) {
+            beginQuery(conn);
+            try {
+                ui().println("\n[회원 ID: " + userId + "] 등록 상품 스트리밍");
+                TableRenderer table = newTable("상품 ID", "제목", "상품명", "가격", "상태", "등록일");
+
+                new RowStreamer(sc, rowLimit, STREAM_PAUSE_ROWS).stream(conn.connection(), query,
+                        pstmt -> pstmt.setInt(1, userId), table,
+                        (rs, row) -> row.cell(rs.getLong("product_id"))
+                                .cell(rs.getString("title"))
+                                .cell(rs.getString("product_name"))
+                                .cell(rs.getInt("price"))
+                                .cell(rs.getString("status"))
+                                .cell(rs.getObject("created_at", LocalDateTime.class))
+                                .endRow());
+
+                ui().println();
+                endQuery(conn, null, 0, 0);
             } catch (SQLException e) {
-                conn.rollback();
-                System.out.println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+                rollbackQuery(conn);
+                ui().println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
             }
         } catch (SQLException e) {
-            System.out.println("DB 연결 실패: " + e.getMessage());
+            ui().println("DB 연결 실패: " + e.getMessage());
         }
     }
 
@@ -111,169 +247,562 @@ public class Main {
                 "FROM Wishlist w JOIN Product p ON w.product_id = p.product_id " +
                 "WHERE w.user_id = ? ORDER BY w.created_at DESC";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+        long started = System.nanoTime();
+        try (ConnectionPool.PooledConnection conn = borrowForQuery()) {
+            beginQuery(conn);
+            try {
+                PreparedStatement pstmt = conn.prepare(query);
                 pstmt.setInt(1, userId);
                 ResultSet rs = pstmt.executeQuery();
+                long fetched = System.nanoTime();
 
-                System.out.println("\n[사용자 ID: " + userId + "] 찜한 상품 목록");
-                System.out.println("--------------------------------------------------");
-                System.out.println("상품 ID | 제목 | 가격 | 찜 추가일");
-                System.out.println("--------------------------------------------------");
+                ui().println("\n[사용자 ID: " + userId + "] 찜한 상품 목록");
+                TableRenderer table = newTable("상품 ID", "제목", "가격", "찜 추가일");
 
-                boolean hasResult = false;
                 while (rs.next()) {
-                    hasResult = true;
-                    System.out.printf("%d | %s | %d | %s\n",
-                            rs.getLong("product_id"),
-                            rs.getString("title"),
-                            rs.getInt("price"),
-                            rs.getTimestamp("wishlist_added_at").toString());
+                    table.cell(rs.getLong("product_id"))
+                            .cell(rs.getString("title"))
+                            .cell(rs.getInt("price"))
+                            .cell(rs.getObject("wishlist_added_at", LocalDateTime.class))
+                            .endRow();
                 }
+                table.flush();
 
-                if (!hasResult) {
-                    System.out.println("※ 해당 사용자의 찜 목록이 존재하지 않습니다.");
+                if (table.getRowCount() == 0) {
+                    ui().println("※ 해당 사용자의 찜 목록이 존재하지 않습니다.");
                 }
 
-                System.out.println();
-                conn.commit();
+                rs.close();
+                ui().println();
+                endQuery(conn, "찜 목록", started, fetched);
             } catch (SQLException e) {
-                conn.rollback();
-                System.out.println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+                rollbackQuery(conn);
+                ui().println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
             }
         } catch (SQLException e) {
-            System.out.println("DB 연결 실패: " + e.getMessage());
+            ui().println("DB 연결 실패: " + e.getMessage());
         }
     }
 
 
 
     public static void findTransactionsInPeriod(String startDate, String endDate) {
-        if (!isValidDate(startDate) || !isValidDate(endDate)) {
-            System.out.println("※ 날짜 형식이 올바르지 않습니다. (예: 2024-01-01)");
+        DateRange range;
+        try {
+            range = DateRange.parse(startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            ui().println("※ " + e.getMessage());
             return;
         }
 
         String query = "SELECT transaction_id, product_id, seller_id, buyer_id, created_at " +
-                "FROM Transaction WHERE created_at BETWEEN ? AND ? ORDER BY created_at DESC";
+                "FROM Transaction WHERE created_at >= ? AND created_at < ? ORDER BY created_at DESC";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                pstmt.setString(1, startDate);
-                pstmt.setString(2, endDate);
+        long started = System.nanoTime();
+        try (ConnectionPool.PooledConnection conn = borrowForQuery()) {
+            beginQuery(conn);
+            try {
+                PreparedStatement pstmt = conn.prepare(query);
+                range.bind(pstmt, 1);
                 ResultSet rs = pstmt.executeQuery();
+                long fetched = System.nanoTime();
 
-                System.out.println("\n[거래 내역: " + startDate + " ~ " + endDate + "]");
-                System.out.println("-----------------------------------------------------------");
-                System.out.println("ID | 상품ID | 판매자ID | 구매자ID | 거래일");
-                System.out.println("-----------------------------------------------------------");
+                ui().println("\n[거래 내역: " + range + "]");
+                TableRenderer table = newTable("ID", "상품ID", "판매자ID", "구매자ID", "거래일");
 
-                boolean hasResult = false;
                 while (rs.next()) {
-                    hasResult = true;
-                    System.out.printf("%d | %d | %d | %d | %s\n",
-                            rs.getLong("transaction_id"),
-                            rs.getLong("product_id"),
-                            rs.getLong("seller_id"),
-                            rs.getLong("buyer_id"),
-                            rs.getTimestamp("created_at").toString());
+                    table.cell(rs.getLong("transaction_id"))
+                            .cell(rs.getLong("product_id"))
+                            .cell(rs.getLong("seller_id"))
+                            .cell(rs.getLong("buyer_id"))
+                            .cell(rs.getObject("created_at", LocalDateTime.class))
+                            .endRow();
                 }
+                table.flush();
 
-                if (!hasResult) {
-                    System.out.println("※ 해당 기간 내 거래 내역이 없습니다.");
+                if (table.getRowCount() == 0) {
+                    ui().println("※ 해당 기간 내 거래 내역이 없습니다.");
                 }
 
-                System.out.println();
-                conn.commit();
+                rs.close();
+                ui().println();
+                endQuery(conn, "기간 내 거래", started, fetched);
             } catch (SQLException e) {
-                conn.rollback();
-                System.out.println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+                rollbackQuery(conn);
+                ui().println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
             }
         } catch (SQLException e) {
-            System.out.println("DB 연결 실패: " + e.getMessage());
+            ui().println("DB 연결 실패: " + e.getMessage());
         }
     }
 
-    private static boolean isValidDate(String dateStr) {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        sdf.setLenient(false);
+    public static void streamTransactionsInPeriod(String startDate, String endDate, int rowLimit, Scanner sc) {
+        DateRange range;
         try {
-            sdf.parse(dateStr);
-            return true;
-        } catch (ParseException e) {
-            return false;
+            range = DateRange.parse(startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            ui().println("※ " + e.getMessage());
+            return;
+        }
+
+        String query = "SELECT transaction_id, product_id, seller_id, buyer_id, created_at " +
+                "FROM Transaction WHERE created_at >= ? AND created_at < ? ORDER BY created_at DESC";
+
+        try (ConnectionPool.PooledConnection conn = borrowForQuery()) {
+            beginQuery(conn);
+            try {
+                ui().println("\n[거래 내역 스트리밍: " + range + "]");
+                TableRenderer table = newTable("ID", "상품ID", "판매자ID", "구매자ID", "거래일");
+
+                long count = new RowStreamer(sc, rowLimit, STREAM_PAUSE_ROWS).stream(conn.connection(), query,
+                        pstmt -> range.bind(pstmt, 1), table,
+                        (rs, row) -> row.cell(rs.getLong("transaction_id"))
+                                .cell(rs.getLong("product_id"))
+                                .cell(rs.getLong("seller_id"))
+                                .cell(rs.getLong("buyer_id"))
+                                .cell(rs.getObject("created_at", LocalDateTime.class))
+                                .endRow());
+
+                if (count == 0) {
+                    ui().println("※ 해당 기간 내 거래 내역이 없습니다.");
+                }
+
+                ui().println();
+                endQuery(conn, null, 0, 0);
+            } catch (SQLException e) {
+                rollbackQuery(conn);
+                ui().println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+            }
+        } catch (SQLException e) {
+            ui().println("DB 연결 실패: " + e.getMessage());
         }
     }
 
     public static void findReviewStatsBySellerIds(int[] sellerIds) {
         if (sellerIds.length == 0) return;
 
-        String placeholders = String.join(",", Arrays.stream(sellerIds).mapToObj(id -> "?").toArray(String[]::new));
-        String query = "SELECT seller_id, AVG(rating) AS average_rating, COUNT(*) AS review_count " +
-                "FROM Review WHERE seller_id IN (" + placeholders + ") GROUP BY seller_id";
+        List<Integer> ids = new ArrayList<>();
+        Arrays.stream(sellerIds).distinct().forEach(ids::add);
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
-                for (int i = 0; i < sellerIds.length; i++) {
-                    pstmt.setInt(i + 1, sellerIds[i]);
-                }
-                ResultSet rs = pstmt.executeQuery();
+        try {
+            Map<Integer, ReviewStat> stats = REVIEW_STATS_CACHE.getAll(ids, Main::loadReviewStats);
 
-                System.out.println("\n[판매자 리뷰 통계]");
-                System.out.println("------------------------------");
-                System.out.println("판매자ID | 평균 평점 | 리뷰 수");
-                System.out.println("------------------------------");
+            ui().println("\n[판매자 리뷰 통계]");
+            TableRenderer table = newTable("판매자ID", "평균 평점", "리뷰 수");
 
-                while (rs.next()) {
-                    System.out.printf("%d | %.2f | %d\n",
-                            rs.getInt("seller_id"),
-                            rs.getDouble("average_rating"),
-                            rs.getInt("review_count"));
+            for (ReviewStat stat : stats.values()) {
+                if (stat.reviewCount == 0) continue;
+                table.cell(stat.sellerId)
+                        .cell(stat.averageRating, 2)
+                        .cell(stat.reviewCount)
+                        .endRow();
+            }
+            table.flush();
+            ui().println();
+        } catch (SQLException e) {
+            ui().println("쿼리 실행 중 오류 발생: " + e.getMessage());
+        }
+    }
+
+    // 캐시에 없는 판매자만 DB에서 가져온다. 집계 테이블이 있으면 GROUP BY 대신 미리 집계된 행을 읽는다.
+    private static Map<Integer, ReviewStat> loadReviewStats(List<Integer> ids) throws SQLException {
+        Map<Integer, ReviewStat> result = new HashMap<>();
+
+        boolean useStore = SELLER_RATINGS.isReady();
+
+        // 집계 테이블은 갱신한 기본 DB 커넥션으로 그대로 읽는다. 복제본에서 읽으면 방금 갱신한 행이 아직 없을 수 있다.
+        try (ConnectionPool.PooledConnection conn = useStore ? POOL.borrow() : borrowForQuery()) {
+            if (useStore) {
+                SELLER_RATINGS.refreshIfStale(conn, RATING_REFRESH_INTERVAL_MILLIS);
+            }
+            long started = System.nanoTime();
+            beginQuery(conn);
+            try {
+                if (useStore) {
+                    result.putAll(SELLER_RATINGS.load(conn, ids));
+                } else {
+                    for (int from = 0; from < ids.size(); from += InList.maxSize()) {
+                        List<Integer> chunk = ids.subList(from, Math.min(from + InList.maxSize(), ids.size()));
+                        String query = "SELECT seller_id, AVG(rating) AS average_rating, COUNT(*) AS review_count " +
+                                "FROM Review WHERE seller_id IN (" + InList.placeholders(chunk.size()) + ") GROUP BY seller_id";
+
+                        PreparedStatement pstmt = conn.prepare(query);
+                        InList.bind(pstmt, 1, chunk);
+                        ResultSet rs = pstmt.executeQuery();
+
+                        while (rs.next()) {
+                            int sellerId = rs.getInt("seller_id");
+                            result.put(sellerId, new ReviewStat(
+                                    sellerId,
+                                    rs.getDouble("average_rating"),
+                                    rs.getInt("review_count")));
+                        }
+                        rs.close();
+                    }
                 }
-                System.out.println();
-                conn.commit();
+                endQuery(conn, "판매자 리뷰 통계", started, System.nanoTime());
             } catch (SQLException e) {
-                conn.rollback();
-                System.out.println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+                rollbackQuery(conn);
+                throw e;
             }
-        } catch (SQLException e) {
-            System.out.println("DB 연결 실패: " + e.getMessage());
         }
+        return result;
     }
 
     public static void findActiveProductsByUser(int userId) {
         String query = "SELECT product_id, title, price, created_at " +
                 "FROM Product WHERE user_id = ? AND status = '판매중' ORDER BY created_at DESC";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+        long started = System.nanoTime();
+        try (ConnectionPool.PooledConnection conn = borrowForQuery()) {
+            beginQuery(conn);
+            try {
+                PreparedStatement pstmt = conn.prepare(query);
                 pstmt.setInt(1, userId);
                 ResultSet rs = pstmt.executeQuery();
+                long fetched = System.nanoTime();
 
-                System.out.println("\n[회원 ID: " + userId + "] 판매중인 상품 목록");
-                System.out.println("---------------------------------------------");
-                System.out.println("ID | 제목 | 가격 | 등록일");
-                System.out.println("---------------------------------------------");
+                ui().println("\n[회원 ID: " + userId + "] 판매중인 상품 목록");
+                TableRenderer table = newTable("ID", "제목", "가격", "등록일");
 
                 while (rs.next()) {
-                    System.out.printf("%d | %s | %d | %s\n",
-                            rs.getLong("product_id"),
-                            rs.getString("title"),
-                            rs.getInt("price"),
-                            rs.getTimestamp("created_at").toString());
+                    table.cell(rs.getLong("product_id"))
+                            .cell(rs.getString("title"))
+                            .cell(rs.getInt("price"))
+                            .cell(rs.getObject("created_at", LocalDateTime.class))
+                            .endRow();
                 }
-                System.out.println();
-                conn.commit();
+                table.flush();
+                rs.close();
+                ui().println();
+                endQuery(conn, "판매중 상품", started, fetched);
             } catch (SQLException e) {
-                conn.rollback();
-                System.out.println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+                rollbackQuery(conn);
+                ui().println("쿼리 실행 중 오류 발생 (롤백됨): " + e.getMessage());
+            }
+        } catch (SQLException e) {
+            ui().println("DB 연결 실패: " + e.getMessage());
+        }
+    }
+
+    private static void browsePages(Scanner sc) {
+        ui().println("  1) 회원 등록 상품  2) 찜 목록  3) 기간 내 거래");
+        ui().print("- 목록 선택: ");
+        String kind = sc.nextLine().trim();
+
+        switch (kind) {
+            case "1": {
+                ui().print("- 회원 ID를 입력하세요: ");
+                int userId = Integer.parseInt(sc.nextLine());
+                navigatePages(sc, "[회원 ID: " + userId + "] 등록 상품 목록",
+                        new String[]{"상품 ID", "제목", "상품명", "가격", "상태", "등록일"},
+                        (cursor, direction) -> PAGED.findProductsPage(userId, cursor, direction, PAGE_SIZE),
+                        Main::productCells);
+                break;
+            }
+            case "2": {
+                ui().print("- 사용자 ID를 입력하세요: ");
+                int userId = Integer.parseInt(sc.nextLine());
+                navigatePages(sc, "[사용자 ID: " + userId + "] 찜한 상품 목록",
+                        new String[]{"상품 ID", "제목", "가격", "찜 추가일"},
+                        (cursor, direction) -> PAGED.findWishlistPage(userId, cursor, direction, PAGE_SIZE),
+                        Main::wishlistCells);
+                break;
+            }
+            case "3": {
+                ui().print("- 시작일 (YYYY-MM-DD): ");
+                String startDate = sc.nextLine();
+                ui().print("- 종료일 (YYYY-MM-DD): ");
+                String endDate = sc.nextLine();
+                DateRange range;
+                try {
+                    range = DateRange.parse(startDate, endDate);
+                } catch (IllegalArgumentException e) {
+                    ui().println("※ " + e.getMessage());
+                    return;
+                }
+                navigatePages(sc, "[거래 내역: " + range + "]",
+                        new String[]{"ID", "상품ID", "판매자ID", "구매자ID", "거래일"},
+                        (cursor, direction) -> PAGED.findTransactionsPage(range, cursor, direction, PAGE_SIZE),
+                        (table, row) -> table.cell(row.transactionId)
+                                .cell(row.productId)
+                                .cell(row.sellerId)
+                                .cell(row.buyerId)
+                                .cell(toLocalDateTime(row.createdAt)));
+                break;
+            }
+            default:
+                ui().println("잘못된 목록 선택입니다.\n");
+        }
+    }
+
+    private static <T> void navigatePages(Scanner sc, String title, String[] headers,
+                                          PageFetcher<T> fetcher, BiConsumer<TableRenderer, T> cells) {
+        try {
+            Page<T> page = fetcher.fetch(null, Page.Direction.NEXT);
+            int pageNo = 1;
+
+            while (true) {
+                ui().println("\n" + title + " - " + pageNo + "페이지");
+                // 페이지마다 표 하나로 출력한다. CSV/TSV에서는 데이터 행만 stdout으로 나간다.
+                TableRenderer table = newTable(headers);
+                for (T row : page.getItems()) {
+                    cells.accept(table, row);
+                    table.endRow();
+                }
+                table.flush();
+                if (page.isEmpty()) {
+                    ui().println("※ 조회된 데이터가 없습니다.");
+                }
+                ui().println();
+
+                ui().print("[n] 다음  [p] 이전  [q] 종료: ");
+                String command = sc.nextLine().trim().toLowerCase();
+
+                if (command.equals("n")) {
+                    if (!page.hasNext()) {
+                        ui().println("※ 마지막 페이지입니다.");
+                        continue;
+                    }
+                    Page<T> next = fetcher.fetch(page.getLast(), Page.Direction.NEXT);
+                    if (next.isEmpty()) {
+                        ui().println("※ 마지막 페이지입니다.");
+                        continue;
+                    }
+                    page = next;
+                    pageNo++;
+                } else if (command.equals("p")) {
+                    if (!page.hasPrevious()) {
+                        ui().println("※ 첫 페이지입니다.");
+                        continue;
+                    }
+                    Page<T> previous = fetcher.fetch(page.getFirst(), Page.Direction.PREVIOUS);
+                    if (previous.isEmpty()) {
+                        ui().println("※ 첫 페이지입니다.");
+                        continue;
+                    }
+                    page = previous;
+                    pageNo--;
+                } else if (command.equals("q")) {
+                    ui().println();
+                    return;
+                }
             }
         } catch (SQLException e) {
-            System.out.println("DB 연결 실패: " + e.getMessage());
+            ui().println("쿼리 실행 중 오류 발생: " + e.getMessage());
         }
     }
+
+    public static void findByUserIdsInBatch(String kind, List<Integer> userIds) {
+        if (userIds.isEmpty()) return;
+
+        try {
+            switch (kind) {
+                case "1":
+                    printGroups("등록 상품", new String[]{"상품 ID", "제목", "상품명", "가격", "상태", "등록일"},
+                            BATCH.findProductsByUserIds(userIds), Main::productCells);
+                    break;
+                case "2":
+                    printGroups("찜한 상품", new String[]{"상품 ID", "제목", "가격", "찜 추가일"},
+                            BATCH.findWishlistByUserIds(userIds), Main::wishlistCells);
+                    break;
+                case "5":
+                    printGroups("판매중인 상품", new String[]{"ID", "제목", "가격", "등록일"},
+                            BATCH.findActiveProductsByUserIds(userIds),
+                            (table, row) -> table.cell(row.productId)
+                                    .cell(row.title)
+                                    .cell(row.price)
+                                    .cell(toLocalDateTime(row.createdAt)));
+                    break;
+                default:
+                    ui().println("잘못된 조회 종류입니다.\n");
+            }
+        } catch (SQLException e) {
+            ui().println("쿼리 실행 중 오류 발생: " + e.getMessage());
+        }
+    }
+
+    // 회원별 목록을 회원 ID 열을 앞에 붙인 표 하나로 출력한다. CSV/TSV에서도 헤더가 한 번만 나간다.
+    private static <T> void printGroups(String title, String[] headers, Map<Integer, List<T>> groups,
+                                        BiConsumer<TableRenderer, T> cells) {
+        ui().println("\n[일괄 조회: " + title + ", 회원 " + groups.size() + "명]");
+
+        String[] columns = new String[headers.length + 1];
+        columns[0] = "회원 ID";
+        System.arraycopy(headers, 0, columns, 1, headers.length);
+        TableRenderer table = newTable(columns);
+        List<Integer> empty = new ArrayList<>();
+        for (Map.Entry<Integer, List<T>> entry : groups.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                empty.add(entry.getKey());
+            }
+            for (T row : entry.getValue()) {
+                cells.accept(table.cell(entry.getKey()), row);
+                table.endRow();
+            }
+        }
+        table.flush();
+
+        if (!empty.isEmpty()) {
+            ui().println("※ 조회된 데이터가 없는 회원 ID: " + empty);
+        }
+        ui().println("(총 " + table.getRowCount() + "건)\n");
+    }
+
+    private static void productCells(TableRenderer table, PagedQueries.ProductRow row) {
+        table.cell(row.productId)
+                .cell(row.title)
+                .cell(row.productName)
+                .cell(row.price)
+                .cell(row.status)
+                .cell(toLocalDateTime(row.createdAt));
+    }
+
+    private static void wishlistCells(TableRenderer table, PagedQueries.WishlistRow row) {
+        table.cell(row.productId)
+                .cell(row.title)
+                .cell(row.price)
+                .cell(toLocalDateTime(row.addedAt));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    // "1,2,3" 형식 또는 "@파일경로" (쉼표·공백·줄바꿈으로 구분된 ID 목록)
+    private static List<Integer> readIds(String input) {
+        String text = input.trim();
+        if (text.startsWith("@")) {
+            try {
+                text = Files.readString(Paths.get(text.substring(1).trim()), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                ui().println("※ ID 파일을 읽을 수 없습니다: " + e.getMessage());
+                return null;
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        for (String token : text.split("[,\\s]+")) {
+            if (token.isEmpty()) continue;
+            try {
+                ids.add(Integer.parseInt(token));
+            } catch (NumberFormatException e) {
+                ui().println("※ 잘못된 ID가 포함되어 있습니다: " + token);
+                return null;
+            }
+        }
+        return ids;
+    }
+
+    private static int readRowLimit(Scanner sc) {
+        ui().print("- 최대 출력 행 수 (전체 출력은 0): ");
+        try {
+            return Math.max(0, Integer.parseInt(sc.nextLine().trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public static void refreshSellerRatings() {
+        try {
+            long merged = SELLER_RATINGS.refresh();
+            ui().println("판매자 평점 집계에 새 리뷰 " + merged + "건을 반영했습니다.\n");
+        } catch (SQLException e) {
+            ui().println("집계 갱신 중 오류 발생 (롤백됨): " + e.getMessage());
+        }
+    }
+
+    public static void rebuildSellerRatings() {
+        try {
+            long started = System.nanoTime();
+            SELLER_RATINGS.rebuild();
+            REVIEW_STATS_CACHE.clear();
+            ui().printf("판매자 평점 집계를 재구축했습니다. (%.2fms)\n\n", (System.nanoTime() - started) / 1_000_000.0);
+        } catch (SQLException e) {
+            ui().println("집계 재구축 중 오류 발생 (롤백됨): " + e.getMessage());
+        }
+    }
+
+    public static void checkSellerRatings() {
+        try {
+            List<SellerRatingStore.Mismatch> mismatches = SELLER_RATINGS.checkConsistency();
+
+            ui().println("\n[판매자 평점 집계 정합성 검사]");
+            ui().println("------------------------------------------------------------");
+            if (mismatches.isEmpty()) {
+                ui().println("※ 집계 테이블이 실시간 집계와 일치합니다.");
+            } else {
+                ui().println("판매자ID | 집계 테이블 | 실시간 집계");
+                ui().println("------------------------------------------------------------");
+                for (SellerRatingStore.Mismatch mismatch : mismatches) {
+                    ui().println(mismatch.sellerId + " | " + mismatch.stored + " | " + mismatch.live);
+                }
+                ui().println("※ 불일치 " + mismatches.size() + "건. 재구축(15번)으로 복구할 수 있습니다.");
+            }
+            ui().println();
+        } catch (SQLException e) {
+            ui().println("정합성 검사 중 오류 발생: " + e.getMessage());
+        }
+    }
+
+    // CSV/TSV 형식에서는 표준 출력에 데이터 행만 남도록 나머지 출력은 표준 오류로 보낸다.
+    private static PrintStream ui() {
+        return ConsoleIO.ui();
+    }
+
+    private static TableRenderer newTable(String... headers) {
+        return new TableRenderer(outputFormat, headers);
+    }
+
+    private static ConnectionPool.PooledConnection borrowForQuery() throws SQLException {
+        return readOnlyMode ? READ_POOL.borrow() : POOL.borrow();
+    }
+
+    // 읽기 전용 커넥션은 autocommit 상태 그대로 조회하므로 트랜잭션 시작/종료 왕복이 없다.
+    private static void beginQuery(ConnectionPool.PooledConnection conn) throws SQLException {
+        if (!conn.isReadOnly()) {
+            conn.setAutoCommit(false);
+        }
+    }
+
+    /**
+     * 트랜잭션을 끝내고 소요 시간을 기록한다.
+     * 스트리밍이 아닌 ResultSet은 executeQuery에서 모든 행을 받아 오므로, fetched(executeQuery 직후)부터
+     * 지금까지는 출력 시간이다. 조회 시간은 출력 시간을 뺀 DB 왕복(트랜잭션 시작, 쿼리, 커밋)만 센다.
+     */
+    private static void endQuery(ConnectionPool.PooledConnection conn, String label, long started, long fetched)
+            throws SQLException {
+        long rendered = System.nanoTime();
+        if (!conn.isReadOnly()) {
+            conn.commit();
+        }
+        if (label != null) {
+            long queryNanos = (fetched - started) + (System.nanoTime() - rendered);
+            TIMINGS.record(label, conn.isReadOnly(), queryNanos);
+            ui().printf("⏱ 조회 시간: %.2fms [%s] / 출력 시간: %.2fms\n\n", queryNanos / 1_000_000.0,
+                    conn.isReadOnly() ? "읽기 전용" : "트랜잭션", (rendered - fetched) / 1_000_000.0);
+        }
+    }
+
+    private static void rollbackQuery(ConnectionPool.PooledConnection conn) throws SQLException {
+        if (!conn.isReadOnly()) {
+            conn.rollback();
+        }
+    }
+
+    private static void printPoolStats() {
+        printPoolStats("기본", POOL.stats());
+        printPoolStats("읽기 전용", READ_POOL.stats());
+    }
+
+    private static void printPoolStats(String name, ConnectionPool.Stats stats) {
+        ui().println("\n[커넥션 풀 상태: " + name + "]");
+        ui().println("------------------------------");
+        ui().printf("사용 중: %d / 유휴: %d / 전체: %d (최대 %d)\n",
+                stats.active, stats.idle, stats.total, stats.maxSize);
+        ui().printf("대기 횟수: %d / 평균 대기: %.2fms / 최대 대기: %.2fms\n",
+                stats.waitCount, stats.averageWaitMillis(), stats.maxWaitMillis());
+        ui().printf("생성: %d / 정리(만료·불량): %d\n", stats.created, stats.evicted);
+        ui().println();
+    }
 }
@@ -0,0 +1,62 @@
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * (created_at, id) 키셋 기반 페이지 결과.
+ * OFFSET을 쓰지 않으므로 몇 번째 페이지든 조회 비용이 같다.
+ */
+public class Page<T> {
+
+    public enum Direction { NEXT, PREVIOUS }
+
+    /** 페이지 경계 행의 정렬 키 */
+    public static class Cursor {
+        public final Timestamp createdAt;
+        public final long id;
+
+        public Cursor(Timestamp createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
+
+    private final List<T> items;
+    private final Cursor first;
+    private final Cursor last;
+    private final boolean hasNext;
+    private final boolean hasPrevious;
+
+    public Page(List<T> items, Cursor first, Cursor last, boolean hasNext, boolean hasPrevious) {
+        this.items = items;
+        this.first = first;
+        this.last = last;
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /** 이전 페이지 조회에 넘길 커서 */
+    public Cursor getFirst() {
+        return first;
+    }
+
+    /** 다음 페이지 조회에 넘길 커서 */
+    public Cursor getLast() {
+        return last;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean hasPrevious() {
+        return hasPrevious;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
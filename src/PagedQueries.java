@@ -0,0 +1,173 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 상품·찜·거래 목록의 키셋 페이지 조회 API.
+ * 정렬은 기존 목록과 같이 created_at 내림차순이며, 같은 시각의 행은 id로 구분한다.
+ */
+public class PagedQueries {
+
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    public static class ProductRow {
+        public final long productId;
+        public final String title;
+        public final String productName;
+        public final int price;
+        public final String status;
+        public final Timestamp createdAt;
+
+        ProductRow(long productId, String title, String productName, int price, String status, Timestamp createdAt) {
+            this.productId = productId;
+            this.title = title;
+            this.productName = productName;
+            this.price = price;
+            this.status = status;
+            this.createdAt = createdAt;
+        }
+    }
+
+    public static class WishlistRow {
+        public final long productId;
+        public final String title;
+        public final int price;
+        public final Timestamp addedAt;
+
+        WishlistRow(long productId, String title, int price, Timestamp addedAt) {
+            this.productId = productId;
+            this.title = title;
+            this.price = price;
+            this.addedAt = addedAt;
+        }
+    }
+
+    public static class TransactionRow {
+        public final long transactionId;
+        public final long productId;
+        public final long sellerId;
+        public final long buyerId;
+        public final Timestamp createdAt;
+
+        TransactionRow(long transactionId, long productId, long sellerId, long buyerId, Timestamp createdAt) {
+            this.transactionId = transactionId;
+            this.productId = productId;
+            this.sellerId = sellerId;
+            this.buyerId = buyerId;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final ConnectionPool pool;
+
+    public PagedQueries(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    public Page<ProductRow> findProductsPage(int userId, Page.Cursor cursor, Page.Direction direction, int size)
+            throws SQLException {
+        return fetch("SELECT product_id, title, product_name, price, status, created_at " +
+                        "FROM Product WHERE user_id = ?",
+                "created_at", "product_id",
+                pstmt -> pstmt.setInt(1, userId), 1,
+                rs -> new ProductRow(
+                        rs.getLong("product_id"),
+                        rs.getString("title"),
+                        rs.getString("product_name"),
+                        rs.getInt("price"),
+                        rs.getString("status"),
+                        rs.getTimestamp("created_at")),
+                row -> new Page.Cursor(row.createdAt, row.productId),
+                cursor, direction, size);
+    }
+
+    public Page<WishlistRow> findWishlistPage(int userId, Page.Cursor cursor, Page.Direction direction, int size)
+            throws SQLException {
+        // 한 사용자가 같은 상품을 두 번 찜할 수 없으므로 product_id로 동순위를 구분한다.
+        return fetch("SELECT p.product_id, p.title, p.price, w.created_at AS wishlist_added_at " +
+                        "FROM Wishlist w JOIN Product p ON w.product_id = p.product_id " +
+                        "WHERE w.user_id = ?",
+                "w.created_at", "w.product_id",
+                pstmt -> pstmt.setInt(1, userId), 1,
+                rs -> new WishlistRow(
+                        rs.getLong("product_id"),
+                        rs.getString("title"),
+                        rs.getInt("price"),
+                        rs.getTimestamp("wishlist_added_at")),
+                row -> new Page.Cursor(row.addedAt, row.productId),
+                cursor, direction, size);
+    }
+
+    public Page<TransactionRow> findTransactionsPage(DateRange range, Page.Cursor cursor,
+                                                     Page.Direction direction, int size) throws SQLException {
+        return fetch("SELECT transaction_id, product_id, seller_id, buyer_id, created_at " +
+                        "FROM Transaction WHERE created_at >= ? AND created_at < ?",
+                "created_at", "transaction_id",
+                pstmt -> range.bind(pstmt, 1), 2,
+                rs -> new TransactionRow(
+                        rs.getLong("transaction_id"),
+                        rs.getLong("product_id"),
+                        rs.getLong("seller_id"),
+                        rs.getLong("buyer_id"),
+                        rs.getTimestamp("created_at")),
+                row -> new Page.Cursor(row.createdAt, row.transactionId),
+                cursor, direction, size);
+    }
+
+    private <T> Page<T> fetch(String baseQuery, String createdColumn, String idColumn,
+                              RowStreamer.Binder binder, int paramCount, RowMapper<T> mapper,
+                              Function<T, Page.Cursor> cursorOf,
+                              Page.Cursor cursor, Page.Direction direction, int size) throws SQLException {
+        boolean backward = cursor != null && direction == Page.Direction.PREVIOUS;
+
+        // 이전 페이지는 정렬을 뒤집어 커서 바로 위의 행부터 읽은 뒤 순서를 되돌린다.
+        StringBuilder query = new StringBuilder(baseQuery);
+        if (cursor != null) {
+            String op = backward ? ">" : "<";
+            query.append(" AND (").append(createdColumn).append(' ').append(op).append(" ? OR (")
+                    .append(createdColumn).append(" = ? AND ").append(idColumn).append(' ').append(op).append(" ?))");
+        }
+        String order = backward ? "ASC" : "DESC";
+        query.append(" ORDER BY ").append(createdColumn).append(' ').append(order)
+                .append(", ").append(idColumn).append(' ').append(order)
+                .append(" LIMIT ?");
+
+        List<T> items = new ArrayList<>(size + 1);
+        try (ConnectionPool.PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepare(query.toString());
+            binder.bind(pstmt);
+            int index = paramCount + 1;
+            if (cursor != null) {
+                pstmt.setTimestamp(index++, cursor.createdAt);
+                pstmt.setTimestamp(index++, cursor.createdAt);
+                pstmt.setLong(index++, cursor.id);
+            }
+            // 한 행을 더 읽어 진행 방향에 페이지가 더 있는지 판단
+            pstmt.setInt(index, size + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapper.map(rs));
+                }
+            }
+        }
+
+        boolean more = items.size() > size;
+        if (more) {
+            items.remove(items.size() - 1);
+        }
+        if (backward) {
+            Collections.reverse(items);
+        }
+
+        Page.Cursor first = items.isEmpty() ? null : cursorOf.apply(items.get(0));
+        Page.Cursor last = items.isEmpty() ? null : cursorOf.apply(items.get(items.size() - 1));
+        boolean hasNext = backward || more;
+        boolean hasPrevious = backward ? more : cursor != null;
+        return new Page<>(items, first, last, hasNext, hasPrevious);
+    }
+}
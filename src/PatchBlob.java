@@ -0,0 +1,35 @@
+package LogITBackend.LogIT.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 내용 해시(SHA-256)로 식별하는 압축된 patch 본문.
+ * 같은 patch를 가진 File 행들은 하나의 PatchBlob을 공유한다.
+ */
+@Entity
+@Table(name = "patch_blob")
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class PatchBlob {
+
+    public enum Codec { RAW, DEFLATE }
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Codec codec;
+
+    // 압축 전 UTF-8 바이트 수. 압축을 풀 때 버퍼 크기로 쓴다.
+    @Column(name = "raw_size", nullable = false)
+    private int rawSize;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] content;
+}
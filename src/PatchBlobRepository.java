@@ -0,0 +1,16 @@
+package LogITBackend.LogIT.repository;
+
+import LogITBackend.LogIT.domain.PatchBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PatchBlobRepository extends JpaRepository<PatchBlob, String> {
+
+    // 본문(content)은 읽지 않고 이미 저장된 해시만 확인한다.
+    @Query("select p.hash from PatchBlob p where p.hash in :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+}
@@ -0,0 +1,37 @@
+package LogITBackend.LogIT.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * patch-store.migrate-on-startup=true이면 시작할 때 기존 file.patch 본문을 patch_blob으로 옮기고
+ * 옮기기 전후의 저장 공간 현황을 로그로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "patch-store.migrate-on-startup", havingValue = "true")
+public class PatchMigrationRunner implements ApplicationRunner {
+
+    private final PatchStore patchStore;
+
+    @Value("${patch-store.migration-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("patch 이관 전: {}", patchStore.report());
+
+        long started = System.currentTimeMillis();
+        long migrated = patchStore.migrateLegacyPatches(batchSize);
+        long elapsed = System.currentTimeMillis() - started;
+
+        log.info("patch {}행 이관 완료 ({} ms)", migrated, elapsed);
+        log.info("patch 이관 후: {}", patchStore.report());
+    }
+}
@@ -0,0 +1,226 @@
+package LogITBackend.LogIT.service;
+
+import LogITBackend.LogIT.domain.File;
+import LogITBackend.LogIT.domain.PatchBlob;
+import LogITBackend.LogIT.repository.PatchBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 커밋 파일 patch를 내용 해시로 중복 제거하고 압축해서 patch_blob 테이블에 저장한다.
+ * cherry-pick이나 여러 브랜치에 같은 patch가 있어도 본문은 한 번만 저장되며,
+ * 압축은 응답에 patch 본문이 실제로 필요할 때만 푼다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PatchStore {
+
+    // 이보다 짧은 patch는 압축해도 거의 줄지 않는다.
+    private static final int MIN_COMPRESS_BYTES = 128;
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    private final PatchBlobRepository patchBlobRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LongAdder decompressions = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    /**
+     * patch들을 저장하고 같은 순서의 해시 목록을 돌려준다. null patch의 해시는 null이다.
+     */
+    public List<String> storeAll(List<String> patches) {
+        List<String> hashes = new ArrayList<>(patches.size());
+        Map<String, String> patchesByHash = new LinkedHashMap<>();
+        for (String patch : patches) {
+            if (patch == null) {
+                hashes.add(null);
+                continue;
+            }
+            String hash = hash(patch);
+            hashes.add(hash);
+            patchesByHash.putIfAbsent(hash, patch);
+        }
+        if (patchesByHash.isEmpty()) {
+            return hashes;
+        }
+
+        Set<String> existing = new HashSet<>(patchBlobRepository.findExistingHashes(patchesByHash.keySet()));
+        List<PatchBlob> newBlobs = patchesByHash.entrySet().stream()
+                .filter(entry -> !existing.contains(entry.getKey()))
+                .map(entry -> compress(entry.getKey(), entry.getValue()))
+                .toList();
+
+        // 다른 요청이 같은 patch를 동시에 저장해도 키 충돌로 실패하지 않도록 INSERT IGNORE로 넣는다.
+        // 배치가 다중 행 INSERT로 합쳐지려면 datasource URL에 rewriteBatchedStatements=true가 필요하다.
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO patch_blob (hash, codec, raw_size, content) VALUES (?, ?, ?, ?)",
+                newBlobs,
+                INSERT_BATCH_SIZE,
+                (pstmt, blob) -> {
+                    pstmt.setString(1, blob.getHash());
+                    pstmt.setString(2, blob.getCodec().name());
+                    pstmt.setInt(3, blob.getRawSize());
+                    pstmt.setBytes(4, blob.getContent());
+                });
+        return hashes;
+    }
+
+    /** 압축된 본문을 해시별로 한 번에 읽는다. 압축 해제는 하지 않는다. */
+    public Map<String, PatchBlob> loadAll(Collection<String> hashes) {
+        List<String> ids = hashes.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return patchBlobRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(PatchBlob::getHash, Function.identity()));
+    }
+
+    /** 파일 응답에 쓸 patch 본문. patch_blob으로 옮기기 전의 행은 기존 patch 컬럼을 그대로 쓴다. */
+    public String patchOf(File file, Map<String, PatchBlob> blobs) {
+        if (file.getPatchHash() == null) {
+            return file.getPatch();
+        }
+        PatchBlob blob = blobs.get(file.getPatchHash());
+        return blob == null ? null : decompress(blob);
+    }
+
+    public String decompress(PatchBlob blob) {
+        if (blob.getCodec() == PatchBlob.Codec.RAW) {
+            return new String(blob.getContent(), StandardCharsets.UTF_8);
+        }
+
+        long started = System.nanoTime();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(blob.getContent());
+            byte[] raw = new byte[blob.getRawSize()];
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                length += inflater.inflate(raw, length, raw.length - length);
+            }
+            return new String(raw, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("손상된 patch 데이터입니다: " + blob.getHash(), e);
+        } finally {
+            inflater.end();
+            decompressions.increment();
+            decompressNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * 기존 file.patch 컬럼의 본문을 batchSize행씩 patch_blob으로 옮기고 patch 컬럼을 비운다.
+     * 배치마다 바로 반영되며, 중간에 멈춰도 다시 실행하면 남은 행부터 이어서 처리한다.
+     *
+     * @return 옮긴 행 수
+     */
+    public long migrateLegacyPatches(int batchSize) {
+        long migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<LegacyRow> rows = jdbcTemplate.query(
+                    "SELECT id, patch FROM file WHERE id > ? AND patch IS NOT NULL AND patch_hash IS NULL " +
+                            "ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new LegacyRow(rs.getLong("id"), rs.getString("patch")),
+                    lastId, batchSize);
+            if (rows.isEmpty()) {
+                return migrated;
+            }
+
+            List<String> hashes = storeAll(rows.stream().map(LegacyRow::patch).toList());
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                updates.add(new Object[]{hashes.get(i), rows.get(i).id()});
+            }
+            jdbcTemplate.batchUpdate("UPDATE file SET patch_hash = ?, patch = NULL WHERE id = ?", updates);
+
+            migrated += rows.size();
+            lastId = rows.get(rows.size() - 1).id();
+        }
+    }
+
+    /** patch 저장 공간과 압축 해제 시간 현황 */
+    public Report report() {
+        Map<String, Object> blobs = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS blob_count, COALESCE(SUM(raw_size), 0) AS raw_bytes, " +
+                        "COALESCE(SUM(LENGTH(content)), 0) AS stored_bytes FROM patch_blob");
+        Map<String, Object> files = jdbcTemplate.queryForMap(
+                "SELECT COUNT(f.patch_hash) AS referencing_files, COALESCE(SUM(b.raw_size), 0) AS logical_bytes " +
+                        "FROM file f JOIN patch_blob b ON b.hash = f.patch_hash");
+        Map<String, Object> legacy = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS legacy_rows, COALESCE(SUM(LENGTH(patch)), 0) AS legacy_bytes " +
+                        "FROM file WHERE patch IS NOT NULL");
+
+        long count = decompressions.sum();
+        return new Report(
+                ((Number) blobs.get("blob_count")).longValue(),
+                ((Number) files.get("referencing_files")).longValue(),
+                ((Number) files.get("logical_bytes")).longValue(),
+                ((Number) blobs.get("raw_bytes")).longValue(),
+                ((Number) blobs.get("stored_bytes")).longValue(),
+                ((Number) legacy.get("legacy_rows")).longValue(),
+                ((Number) legacy.get("legacy_bytes")).longValue(),
+                count,
+                count == 0 ? 0 : decompressNanos.sum() / 1_000.0 / count);
+    }
+
+    private static PatchBlob compress(String hash, String patch) {
+        byte[] raw = patch.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= MIN_COMPRESS_BYTES) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                byte[] buffer = new byte[raw.length];
+                int length = 0;
+                while (!deflater.finished() && length < buffer.length) {
+                    length += deflater.deflate(buffer, length, buffer.length - length);
+                }
+                // 압축 결과가 원문보다 작을 때만 압축본을 쓴다.
+                if (deflater.finished() && length < raw.length) {
+                    return new PatchBlob(hash, PatchBlob.Codec.DEFLATE, raw.length, Arrays.copyOf(buffer, length));
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        return new PatchBlob(hash, PatchBlob.Codec.RAW, raw.length, raw);
+    }
+
+    private static String hash(String patch) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(patch.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record LegacyRow(long id, String patch) {
+    }
+
+    /**
+     * @param logicalBytes 중복 제거 전, 파일 행마다 따로 저장했다면 필요했을 바이트 수
+     * @param rawBytes     중복 제거 후 압축 전 바이트 수
+     * @param storedBytes  실제 저장된 바이트 수
+     * @param legacyRows   아직 file.patch에 본문이 남은 행 수
+     */
+    public record Report(long blobs, long referencingFiles, long logicalBytes, long rawBytes, long storedBytes,
+                         long legacyRows, long legacyBytes, long decompressions, double averageDecompressMicros) {
+    }
+}
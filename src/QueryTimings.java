@@ -0,0 +1,47 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 조회별 소요 시간을 트랜잭션 모드와 읽기 전용 모드로 나누어 누적한다.
+ * 두 모드의 평균을 나란히 보여 주어 트랜잭션 왕복을 없앤 효과를 확인할 수 있게 한다.
+ */
+public class QueryTimings {
+
+    private static class Timing {
+        long count;
+        long totalNanos;
+
+        double averageMillis() {
+            return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+        }
+    }
+
+    private final Map<String, Timing[]> timings = new LinkedHashMap<>();
+
+    public void record(String query, boolean readOnly, long elapsedNanos) {
+        Timing[] pair = timings.computeIfAbsent(query, q -> new Timing[]{new Timing(), new Timing()});
+        Timing timing = pair[readOnly ? 1 : 0];
+        timing.count++;
+        timing.totalNanos += elapsedNanos;
+    }
+
+    public void print() {
+        ConsoleIO.ui().println("\n[조회 모드별 평균 소요 시간]");
+        ConsoleIO.ui().println("------------------------------------------------------------");
+        ConsoleIO.ui().println("조회 | 트랜잭션 (횟수) | 읽기 전용 (횟수) | 차이");
+        ConsoleIO.ui().println("------------------------------------------------------------");
+        if (timings.isEmpty()) {
+            ConsoleIO.ui().println("※ 아직 기록된 조회가 없습니다.");
+        }
+        for (Map.Entry<String, Timing[]> entry : timings.entrySet()) {
+            Timing tx = entry.getValue()[0];
+            Timing ro = entry.getValue()[1];
+            String diff = tx.count > 0 && ro.count > 0
+                    ? String.format("%+.2fms", ro.averageMillis() - tx.averageMillis())
+                    : "-";
+            ConsoleIO.ui().printf("%s | %.2fms (%d) | %.2fms (%d) | %s\n",
+                    entry.getKey(), tx.averageMillis(), tx.count, ro.averageMillis(), ro.count, diff);
+        }
+        ConsoleIO.ui().println();
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * 판매자 한 명의 리뷰 평균 평점과 리뷰 수.
+ */
+public class ReviewStat {
+    public final int sellerId;
+    public final double averageRating;
+    public final int reviewCount;
+
+    public ReviewStat(int sellerId, double averageRating, int reviewCount) {
+        this.sellerId = sellerId;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+    }
+
+    /** 리뷰가 없는 판매자. 캐시에 넣어 같은 판매자를 다시 조회하지 않도록 한다. */
+    public static ReviewStat empty(int sellerId) {
+        return new ReviewStat(sellerId, 0, 0);
+    }
+}
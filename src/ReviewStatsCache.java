@@ -0,0 +1,92 @@
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * 판매자 리뷰 통계의 프로세스 내 캐시. 항목마다 TTL이 있고, 최대 크기를 넘으면 가장 오래 쓰지 않은 항목부터 버린다.
+ * 조회 시 캐시에 없거나 만료된 판매자만 loader로 DB에서 가져와 캐시된 항목과 합친다.
+ */
+public class ReviewStatsCache {
+
+    public interface Loader {
+        Map<Integer, ReviewStat> load(List<Integer> sellerIds) throws SQLException;
+    }
+
+    private static class Entry {
+        final ReviewStat stat;
+        final long expiresAt;
+
+        Entry(ReviewStat stat, long expiresAt) {
+            this.stat = stat;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final Map<Integer, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ReviewStatsCache(int maxEntries, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return 요청한 순서대로 정렬된 판매자별 통계. 리뷰가 없는 판매자는 reviewCount가 0이다.
+     */
+    public synchronized Map<Integer, ReviewStat> getAll(List<Integer> sellerIds, Loader loader) throws SQLException {
+        long now = System.currentTimeMillis();
+        Map<Integer, ReviewStat> result = new LinkedHashMap<>();
+        List<Integer> missing = new ArrayList<>();
+
+        for (Integer sellerId : sellerIds) {
+            if (result.containsKey(sellerId)) continue;
+            Entry entry = entries.get(sellerId);
+            if (entry != null && entry.expiresAt > now) {
+                hits++;
+                result.put(sellerId, entry.stat);
+            } else {
+                misses++;
+                result.put(sellerId, null);
+                missing.add(sellerId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Integer, ReviewStat> loaded = loader.load(missing);
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            for (Integer sellerId : missing) {
+                ReviewStat stat = loaded.getOrDefault(sellerId, ReviewStat.empty(sellerId));
+                entries.put(sellerId, new Entry(stat, expiresAt));
+                result.put(sellerId, stat);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized void print() {
+        long total = hits + misses;
+        ConsoleIO.ui().println("\n[판매자 리뷰 통계 캐시]");
+        ConsoleIO.ui().println("------------------------------");
+        ConsoleIO.ui().printf("항목 수: %d / TTL: %ds\n", entries.size(), ttlMillis / 1000);
+        ConsoleIO.ui().printf("적중: %d / 미적중: %d / 적중률: %.1f%%\n",
+                hits, misses, total == 0 ? 0 : hits * 100.0 / total);
+        ConsoleIO.ui().printf("LRU 제거: %d\n", evictions);
+        ConsoleIO.ui().println();
+    }
+}
@@ -0,0 +1,85 @@
+import java.sql.*;
+import java.util.Scanner;
+
+/**
+ * 결과 집합을 힙에 모두 올리지 않고 한 행씩 받아 바로 TableRenderer로 출력한다.
+ * MySQL 드라이버는 fetchSize가 Integer.MIN_VALUE인 forward-only 결과에 대해 행 단위 스트리밍을 한다.
+ */
+public class RowStreamer {
+
+    public interface Binder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    public interface RowPrinter {
+        void print(ResultSet rs, TableRenderer table) throws SQLException;
+    }
+
+    private final Scanner input;
+    private final int rowLimit;
+    private final int pauseEvery;
+
+    /**
+     * @param rowLimit   최대 출력 행 수 (0이면 제한 없음)
+     * @param pauseEvery 몇 행마다 계속 여부를 물을지 (0이면 묻지 않음)
+     */
+    public RowStreamer(Scanner input, int rowLimit, int pauseEvery) {
+        this.input = input;
+        this.rowLimit = rowLimit;
+        this.pauseEvery = pauseEvery;
+    }
+
+    /**
+     * @return 출력한 행 수
+     */
+    public long stream(Connection conn, String sql, Binder binder, TableRenderer table, RowPrinter printer)
+            throws SQLException {
+        long count = 0;
+        boolean stopped = false;
+
+        PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            if (rowLimit > 0) {
+                // 서버가 limit 이후의 행을 보내지 않도록 함께 설정
+                pstmt.setMaxRows(rowLimit);
+            }
+            binder.bind(pstmt);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    printer.print(rs, table);
+                    count++;
+
+                    if (pauseEvery > 0 && count % pauseEvery == 0) {
+                        table.flush();
+                        ConsoleIO.ui().print("-- " + count + "행 출력됨. 계속하려면 Enter, 중단하려면 q: ");
+                        if (input.nextLine().trim().equalsIgnoreCase("q")) {
+                            stopped = true;
+                            break;
+                        }
+                    }
+                }
+
+                if (stopped) {
+                    // 스트리밍 결과는 close 시 남은 행을 모두 읽어 버리므로 서버 쪽 쿼리를 먼저 취소한다.
+                    pstmt.cancel();
+                }
+            } catch (SQLException e) {
+                if (!stopped) {
+                    throw e;
+                }
+            }
+        } finally {
+            table.flush();
+            pstmt.close();
+        }
+
+        if (stopped) {
+            ConsoleIO.ui().println("※ 사용자 요청으로 출력을 중단했습니다.");
+        } else if (rowLimit > 0 && count >= rowLimit) {
+            ConsoleIO.ui().println("※ 최대 출력 행 수(" + rowLimit + ")에 도달했습니다.");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,335 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 판매자별 평점 합계와 리뷰 수를 미리 집계해 두는 저장소.
+ * Review 전체를 GROUP BY 하지 않고, 워터마크(last_review_id) 이후의 리뷰만 더해 갱신한다.
+ *
+ * <p>review_id는 INSERT 시점에 정해지고 커밋은 그보다 늦을 수 있어, 더 작은 id의 리뷰가 나중에 보일 수 있다.
+ * 그래서 워터마크 이후에 반영한 리뷰의 id를 SellerRatingApplied에 기록해 두고, 갱신마다 워터마크 이후의 리뷰 중
+ * 아직 기록되지 않은 것만 더한다. 반영한 지 SETTLE_SECONDS가 지난 id까지는 그보다 작은 id의 트랜잭션도
+ * 끝났다고 보고 워터마크를 올린 뒤 기록을 지운다. 이보다 오래 열려 있는 트랜잭션의 리뷰는 빠질 수 있다.
+ * 재구축은 그 시점의 MAX(review_id)를 워터마크로 삼으므로, 재구축하는 동안 커밋되지 않은 리뷰도 빠질 수 있다.
+ * 리뷰 수정·삭제는 증분 갱신에 반영되지 않으므로 rebuild()로 다시 만든다.
+ *
+ * <p>갱신과 재구축은 READ COMMITTED로 실행한다. 기본값인 REPEATABLE READ에서는 INSERT ... SELECT가
+ * 읽는 Review 행에 공유 잠금을 걸어 그동안 리뷰 수정이 막힌다.
+ */
+public class SellerRatingStore {
+
+    private static final String CREATE_AGGREGATE =
+            "CREATE TABLE IF NOT EXISTS SellerRatingAggregate (" +
+                    "seller_id INT PRIMARY KEY, " +
+                    "rating_sum DECIMAL(20, 4) NOT NULL, " +
+                    "review_count BIGINT NOT NULL, " +
+                    "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)";
+
+    private static final String CREATE_WATERMARK =
+            "CREATE TABLE IF NOT EXISTS SellerRatingWatermark (" +
+                    "id TINYINT PRIMARY KEY, " +
+                    "last_review_id BIGINT NOT NULL, " +
+                    "last_created_at TIMESTAMP NULL, " +
+                    "refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)";
+
+    // 워터마크 이후에 집계에 더한 리뷰 id. 워터마크가 올라가면 그 아래 id는 지운다.
+    private static final String CREATE_APPLIED =
+            "CREATE TABLE IF NOT EXISTS SellerRatingApplied (" +
+                    "review_id BIGINT PRIMARY KEY, " +
+                    "batch_id BIGINT NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                    "KEY idx_batch (batch_id))";
+
+    // 이 시간보다 오래 커밋되지 않는 리뷰 트랜잭션은 없다고 본다.
+    private static final int SETTLE_SECONDS = 600;
+
+    // 워터마크 이후의 리뷰 중 아직 반영하지 않은 것을 이번 배치로 기록한다.
+    private static final String MARK_NEW =
+            "INSERT INTO SellerRatingApplied (review_id, batch_id) " +
+                    "SELECT r.review_id, ? FROM Review r " +
+                    "LEFT JOIN SellerRatingApplied a ON a.review_id = r.review_id " +
+                    "WHERE r.review_id > ? AND a.review_id IS NULL";
+
+    // 이번 배치로 기록한 리뷰를 판매자별로 더한다.
+    private static final String MERGE_BATCH =
+            "INSERT INTO SellerRatingAggregate (seller_id, rating_sum, review_count) " +
+                    "SELECT r.seller_id, SUM(r.rating), COUNT(*) FROM Review r " +
+                    "JOIN SellerRatingApplied a ON a.review_id = r.review_id " +
+                    "WHERE a.batch_id = ? GROUP BY r.seller_id " +
+                    "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + VALUES(rating_sum), " +
+                    "review_count = review_count + VALUES(review_count)";
+
+    // 재구축할 때 max_id까지의 리뷰를 판매자별로 한 번에 집계한다.
+    private static final String MERGE_ALL =
+            "INSERT INTO SellerRatingAggregate (seller_id, rating_sum, review_count) " +
+                    "SELECT seller_id, SUM(rating), COUNT(*) FROM Review WHERE review_id <= ? GROUP BY seller_id";
+
+    private static final String LIVE_UP_TO =
+            "SELECT seller_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count " +
+                    "FROM Review WHERE review_id <= ? " +
+                    "OR review_id IN (SELECT review_id FROM SellerRatingApplied) GROUP BY seller_id";
+
+    public static class Mismatch {
+        public final int sellerId;
+        public final String stored;
+        public final String live;
+
+        Mismatch(int sellerId, String stored, String live) {
+            this.sellerId = sellerId;
+            this.stored = stored;
+            this.live = live;
+        }
+    }
+
+    private final ConnectionPool writePool;
+
+    private Boolean ready;
+    private long lastRefreshedAt;
+
+    public SellerRatingStore(ConnectionPool writePool) {
+        this.writePool = writePool;
+    }
+
+    /** 한 번이라도 재구축되어 워터마크가 있으면 집계 테이블을 조회에 사용할 수 있다. */
+    public synchronized boolean isReady() {
+        if (ready == null) {
+            try (ConnectionPool.PooledConnection conn = writePool.borrow()) {
+                ready = readWatermark(conn, false) != null;
+            } catch (SQLException e) {
+                // 테이블이 아직 없으면 실시간 GROUP BY로 조회한다.
+                ready = false;
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * 마지막 갱신 후 maxAgeMillis가 지났으면 conn으로 증분 갱신한다.
+     * 갱신 결과를 바로 읽으려면 같은 커넥션으로 load()를 불러야 한다. 복제본 커넥션은 아직 반영되지 않았을 수 있다.
+     */
+    public synchronized void refreshIfStale(ConnectionPool.PooledConnection conn, long maxAgeMillis) throws SQLException {
+        if (System.currentTimeMillis() - lastRefreshedAt >= maxAgeMillis) {
+            refresh(conn);
+        }
+    }
+
+    /**
+     * 워터마크 이후의 리뷰 중 아직 반영하지 않은 것을 집계에 더하고, 충분히 지난 구간은 워터마크를 올려 정리한다.
+     *
+     * @return 새로 반영한 리뷰 수
+     */
+    public synchronized long refresh() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = writePool.borrow()) {
+            return refresh(conn);
+        }
+    }
+
+    private long refresh(ConnectionPool.PooledConnection conn) throws SQLException {
+        // 반영 기록 테이블이 생기기 전에 재구축한 집계도 그대로 이어서 갱신한다.
+        try (Statement stmt = conn.connection().createStatement()) {
+            stmt.execute(CREATE_APPLIED);
+        }
+        int isolation = beginReadCommitted(conn);
+        try {
+            // 워터마크 행을 잠가 갱신과 재구축이 한 번에 하나씩만 실행되게 한다.
+            Long low = readWatermark(conn, true);
+            if (low == null) {
+                throw new SQLException("집계가 아직 생성되지 않았습니다. 먼저 재구축을 실행하세요.");
+            }
+
+            long merged = mergeNew(conn, low, nextBatchId(conn));
+            settle(conn, low);
+            conn.commit();
+            lastRefreshedAt = System.currentTimeMillis();
+            return merged;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            endReadCommitted(conn, isolation);
+        }
+    }
+
+    /** 집계를 비우고 Review 전체로 다시 만든다. */
+    public synchronized void rebuild() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = writePool.borrow()) {
+            try (Statement stmt = conn.connection().createStatement()) {
+                stmt.execute(CREATE_AGGREGATE);
+                stmt.execute(CREATE_WATERMARK);
+                stmt.execute(CREATE_APPLIED);
+            }
+
+            int isolation = beginReadCommitted(conn);
+            try {
+                // 워터마크 행을 먼저 잠가 동시에 실행되는 증분 갱신과 겹치지 않게 한다.
+                readWatermark(conn, true);
+                try (Statement stmt = conn.connection().createStatement()) {
+                    stmt.executeUpdate("DELETE FROM SellerRatingAggregate");
+                    stmt.executeUpdate("DELETE FROM SellerRatingApplied");
+                }
+
+                // 반영 기록 없이 MAX(review_id)까지 한 번에 집계하고 워터마크를 거기서 시작한다.
+                // 워터마크를 0에 두면 모든 리뷰 id가 반영 기록에 남아, SETTLE_SECONDS 동안 갱신마다 Review 전체를 훑게 된다.
+                long high = maxReviewId(conn);
+                PreparedStatement merge = conn.prepare(MERGE_ALL);
+                merge.setLong(1, high);
+                merge.executeUpdate();
+                writeWatermark(conn, high);
+                conn.commit();
+
+                ready = true;
+                lastRefreshedAt = System.currentTimeMillis();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                endReadCommitted(conn, isolation);
+            }
+        }
+    }
+
+    /** 집계 테이블에서 판매자별 통계를 읽는다. 조회 커넥션은 호출 측이 제공한다. */
+    public Map<Integer, ReviewStat> load(ConnectionPool.PooledConnection conn, List<Integer> sellerIds) throws SQLException {
+        Map<Integer, ReviewStat> result = new HashMap<>();
+        for (int from = 0; from < sellerIds.size(); from += InList.maxSize()) {
+            List<Integer> chunk = sellerIds.subList(from, Math.min(from + InList.maxSize(), sellerIds.size()));
+            String query = "SELECT seller_id, rating_sum / review_count AS average_rating, review_count " +
+                    "FROM SellerRatingAggregate WHERE seller_id IN (" + InList.placeholders(chunk.size()) + ") " +
+                    "AND review_count > 0";
+
+            PreparedStatement pstmt = conn.prepare(query);
+            InList.bind(pstmt, 1, chunk);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int sellerId = rs.getInt("seller_id");
+                    result.put(sellerId, new ReviewStat(
+                            sellerId,
+                            rs.getDouble("average_rating"),
+                            rs.getInt("review_count")));
+                }
+            }
+        }
+        return result;
+    }
+
+    /** 워터마크까지와 반영 기록에 있는 리뷰의 실시간 GROUP BY 결과를 집계 테이블과 비교해 다른 판매자를 돌려준다. */
+    public List<Mismatch> checkConsistency() throws SQLException {
+        List<Mismatch> mismatches = new ArrayList<>();
+        try (ConnectionPool.PooledConnection conn = writePool.borrow()) {
+            Long high = readWatermark(conn, false);
+            if (high == null) {
+                throw new SQLException("집계가 아직 생성되지 않았습니다. 먼저 재구축을 실행하세요.");
+            }
+
+            String query = "SELECT l.seller_id, l.rating_sum AS live_sum, l.review_count AS live_count, " +
+                    "a.rating_sum AS stored_sum, a.review_count AS stored_count " +
+                    "FROM (" + LIVE_UP_TO + ") l LEFT JOIN SellerRatingAggregate a ON a.seller_id = l.seller_id " +
+                    "WHERE a.seller_id IS NULL OR a.rating_sum <> l.rating_sum OR a.review_count <> l.review_count " +
+                    "UNION ALL " +
+                    "SELECT a.seller_id, NULL, NULL, a.rating_sum, a.review_count " +
+                    "FROM SellerRatingAggregate a LEFT JOIN (" + LIVE_UP_TO + ") l ON l.seller_id = a.seller_id " +
+                    "WHERE l.seller_id IS NULL AND a.review_count > 0";
+
+            PreparedStatement pstmt = conn.prepare(query);
+            pstmt.setLong(1, high);
+            pstmt.setLong(2, high);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    mismatches.add(new Mismatch(
+                            rs.getInt("seller_id"),
+                            describe(rs.getBigDecimal("stored_sum"), rs.getObject("stored_count")),
+                            describe(rs.getBigDecimal("live_sum"), rs.getObject("live_count"))));
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    private static String describe(Object sum, Object count) {
+        return sum == null ? "없음" : "합계 " + sum + " / " + count + "건";
+    }
+
+    private static Long readWatermark(ConnectionPool.PooledConnection conn, boolean forUpdate) throws SQLException {
+        PreparedStatement pstmt = conn.prepare("SELECT last_review_id FROM SellerRatingWatermark WHERE id = 1"
+                + (forUpdate ? " FOR UPDATE" : ""));
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+
+    private static void writeWatermark(ConnectionPool.PooledConnection conn, long lastReviewId) throws SQLException {
+        PreparedStatement pstmt = conn.prepare(
+                "INSERT INTO SellerRatingWatermark (id, last_review_id, last_created_at) " +
+                        "SELECT 1, ?, (SELECT created_at FROM Review WHERE review_id = ?) " +
+                        "ON DUPLICATE KEY UPDATE last_review_id = VALUES(last_review_id), " +
+                        "last_created_at = VALUES(last_created_at)");
+        pstmt.setLong(1, lastReviewId);
+        pstmt.setLong(2, lastReviewId);
+        pstmt.executeUpdate();
+    }
+
+    // low 이후의 리뷰 중 아직 반영하지 않은 것을 batchId로 기록하고 집계에 더한다. 더한 리뷰 수를 돌려준다.
+    private static long mergeNew(ConnectionPool.PooledConnection conn, long low, long batchId) throws SQLException {
+        PreparedStatement mark = conn.prepare(MARK_NEW);
+        mark.setLong(1, batchId);
+        mark.setLong(2, low);
+        int marked = mark.executeUpdate();
+        if (marked > 0) {
+            PreparedStatement merge = conn.prepare(MERGE_BATCH);
+            merge.setLong(1, batchId);
+            merge.executeUpdate();
+        }
+        return marked;
+    }
+
+    // SETTLE_SECONDS보다 먼저 반영한 id 중 가장 큰 값까지 워터마크를 올리고 그 아래 기록을 지운다.
+    private static void settle(ConnectionPool.PooledConnection conn, long low) throws SQLException {
+        PreparedStatement pstmt = conn.prepare(
+                "SELECT MAX(review_id) FROM SellerRatingApplied WHERE applied_at < NOW() - INTERVAL ? SECOND");
+        pstmt.setInt(1, SETTLE_SECONDS);
+        long high;
+        try (ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            high = rs.getLong(1);
+            if (rs.wasNull() || high <= low) {
+                return;
+            }
+        }
+        PreparedStatement delete = conn.prepare("DELETE FROM SellerRatingApplied WHERE review_id <= ?");
+        delete.setLong(1, high);
+        delete.executeUpdate();
+        writeWatermark(conn, high);
+    }
+
+    private static long maxReviewId(ConnectionPool.PooledConnection conn) throws SQLException {
+        PreparedStatement pstmt = conn.prepare("SELECT COALESCE(MAX(review_id), 0) FROM Review");
+        try (ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // 트랜잭션을 READ COMMITTED로 시작하고 원래 격리 수준을 돌려준다. 격리 수준은 트랜잭션 밖에서만 바꿀 수 있다.
+    private static int beginReadCommitted(ConnectionPool.PooledConnection conn) throws SQLException {
+        int isolation = conn.connection().getTransactionIsolation();
+        conn.connection().setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        conn.setAutoCommit(false);
+        return isolation;
+    }
+
+    // 풀에 돌아간 커넥션이 다음 대여자에게 READ COMMITTED로 넘어가지 않게 되돌린다.
+    private static void endReadCommitted(ConnectionPool.PooledConnection conn, int isolation) throws SQLException {
+        conn.setAutoCommit(true);
+        conn.connection().setTransactionIsolation(isolation);
+    }
+
+    private static long nextBatchId(ConnectionPool.PooledConnection conn) throws SQLException {
+        PreparedStatement pstmt = conn.prepare("SELECT COALESCE(MAX(batch_id), 0) + 1 FROM SellerRatingApplied");
+        try (ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package LogITBackend.LogIT.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 작업이 이미 실행 중이면 새로 실행하지 않고 그 작업이 끝나기를 기다려 결과(또는 예외)를 함께 받는다.
+ * 같은 커밋을 여러 탭에서 동시에 열거나 같은 브랜치를 동시에 동기화할 때 GitHub 호출과 INSERT가 한 번만 일어난다.
+ *
+ * <p>실행 중인 작업이 wait-ms 안에 끝나지 않으면 기다리던 쪽은 작업을 다시 실행하지 않고 whileRunning 값을 받아
+ * 지금 DB에 있는 데이터로 응답한다. 같은 작업을 두 번 돌리면 같은 행을 두 번 INSERT하게 되기 때문이다.
+ * 앞선 작업이 백그라운드 우선순위로 rate limit 초기화를 기다리는 중일 때 사용자 요청이 같이 묶여 있지 않게 하려는 것이다.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long waitMillis;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public SingleFlight(@Value("${github.single-flight.wait-ms:15000}") long waitMillis) {
+        this.waitMillis = waitMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> work, T whileRunning) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            try {
+                return (T) running.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                timedOut.increment();
+                return whileRunning;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        executed.increment();
+        try {
+            T result = work.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public FlightStats getStats() {
+        return new FlightStats(inFlight.size(), executed.sum(), shared.sum(), timedOut.sum());
+    }
+
+    public record FlightStats(int inFlight, long executed, long shared, long timedOut) {
+    }
+}
@@ -0,0 +1,248 @@
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 조회 결과를 버퍼링해서 출력하는 표 렌더러.
+ * TABLE 형식은 앞쪽 SAMPLE_ROWS개 행으로 열 너비를 정한 뒤 이후 행을 그 너비에 맞춰 출력하고,
+ * CSV/TSV 형식은 다른 도구로 넘길 수 있도록 구분자만 두고 바로 출력한다.
+ * 셀과 행 버퍼는 행마다 새로 만들지 않고 재사용한다.
+ * 출력은 ConsoleIO가 설정한 System.out으로 보내, 다른 콘솔 출력과 같은 버퍼·문자셋을 쓴다.
+ *
+ * <pre>
+ * table.cell(id).cell(title).cell(createdAt).endRow();
+ * </pre>
+ */
+public class TableRenderer {
+
+    public enum Format { TABLE, CSV, TSV }
+
+    private static final int SAMPLE_ROWS = 200;
+    private static final String COLUMN_SEPARATOR = " | ";
+
+    private final Format format;
+    private final String[] headers;
+    private final PrintStream out;
+
+    private final StringBuilder[] cells;
+    private final StringBuilder line = new StringBuilder(256);
+    private int column;
+
+    // TABLE 형식에서 열 너비가 정해지기 전까지 모아 두는 행
+    private List<String[]> sample = new ArrayList<>();
+    private int[] widths;
+    private long rowCount;
+
+    public TableRenderer(Format format, String... headers) {
+        this.format = format;
+        this.headers = headers;
+        this.out = System.out;
+        this.cells = new StringBuilder[headers.length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new StringBuilder(32);
+        }
+
+        if (format != Format.TABLE) {
+            writeDelimited(headers);
+        }
+    }
+
+    public TableRenderer cell(long value) {
+        nextCell().append(value);
+        return this;
+    }
+
+    public TableRenderer cell(String value) {
+        nextCell().append(value == null ? "" : value);
+        return this;
+    }
+
+    /** 소수점 아래 decimals자리까지 반올림해 출력한다. */
+    public TableRenderer cell(double value, int decimals) {
+        StringBuilder cell = nextCell();
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            cell.append('-');
+        }
+        cell.append(scaled / scale);
+        if (decimals > 0) {
+            cell.append('.');
+            String fraction = Long.toString(scaled % scale);
+            for (int i = fraction.length(); i < decimals; i++) {
+                cell.append('0');
+            }
+            cell.append(fraction);
+        }
+        return this;
+    }
+
+    /** yyyy-MM-dd HH:mm:ss 형식 */
+    public TableRenderer cell(LocalDateTime value) {
+        StringBuilder cell = nextCell();
+        if (value == null) {
+            return this;
+        }
+        cell.append(value.getYear()).append('-');
+        pad2(cell, value.getMonthValue()).append('-');
+        pad2(cell, value.getDayOfMonth()).append(' ');
+        pad2(cell, value.getHour()).append(':');
+        pad2(cell, value.getMinute()).append(':');
+        pad2(cell, value.getSecond());
+        return this;
+    }
+
+    public void endRow() {
+        rowCount++;
+        if (format != Format.TABLE) {
+            writeDelimited(cells);
+        } else if (widths == null) {
+            String[] copy = new String[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                copy[i] = cells[i].toString();
+            }
+            sample.add(copy);
+            if (sample.size() >= SAMPLE_ROWS) {
+                emitSample();
+            }
+        } else {
+            writePadded(cells);
+        }
+
+        for (StringBuilder cell : cells) {
+            cell.setLength(0);
+        }
+        column = 0;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /** 모아 둔 행을 모두 내보낸다. 다른 System.out 출력 전에 반드시 호출해야 순서가 섞이지 않는다. */
+    public void flush() {
+        if (format == Format.TABLE && widths == null) {
+            emitSample();
+        }
+        out.flush();
+    }
+
+    private StringBuilder nextCell() {
+        return cells[column++];
+    }
+
+    private void emitSample() {
+        widths = new int[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            widths[i] = displayWidth(headers[i]);
+        }
+        for (String[] row : sample) {
+            for (int i = 0; i < row.length; i++) {
+                widths[i] = Math.max(widths[i], displayWidth(row[i]));
+            }
+        }
+
+        int total = 0;
+        for (int width : widths) {
+            total += width;
+        }
+        total += COLUMN_SEPARATOR.length() * (widths.length - 1);
+        String rule = "-".repeat(total);
+
+        out.println(rule);
+        writePadded(headers);
+        out.println(rule);
+        for (String[] row : sample) {
+            writePadded(row);
+        }
+        sample = null;
+    }
+
+    private void writePadded(CharSequence[] row) {
+        line.setLength(0);
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(COLUMN_SEPARATOR);
+            }
+            line.append(row[i]);
+            // 마지막 열은 뒤쪽 공백을 붙이지 않는다.
+            if (i < row.length - 1) {
+                for (int pad = widths[i] - displayWidth(row[i]); pad > 0; pad--) {
+                    line.append(' ');
+                }
+            }
+        }
+        out.append(line).append('\n');
+    }
+
+    private void writeDelimited(CharSequence[] row) {
+        line.setLength(0);
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(format == Format.CSV ? ',' : '\t');
+            }
+            if (format == Format.CSV) {
+                appendCsv(row[i]);
+            } else {
+                appendTsv(row[i]);
+            }
+        }
+        out.append(line).append('\n');
+    }
+
+    private void appendCsv(CharSequence value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void appendTsv(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            line.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    private static StringBuilder pad2(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+
+    // 한글 등 전각 문자는 터미널에서 두 칸을 차지한다.
+    private static int displayWidth(CharSequence value) {
+        int width = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean wide = (c >= 0x1100 && c <= 0x115F)
+                    || (c >= 0x2E80 && c <= 0xA4CF)
+                    || (c >= 0xAC00 && c <= 0xD7A3)
+                    || (c >= 0xF900 && c <= 0xFAFF)
+                    || (c >= 0xFE30 && c <= 0xFE4F)
+                    || (c >= 0xFF00 && c <= 0xFF60)
+                    || (c >= 0xFFE0 && c <= 0xFFE6);
+            width += wide ? 2 : 1;
+        }
+        return width;
+    }
+}
@@ -0,0 +1,18 @@
+package LogITBackend.LogIT.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookResponse {
+    private String event;
+    private String repository;   // owner/repo
+    private String branch;
+    private int receivedCommits;
+    private int savedCommits;
+}